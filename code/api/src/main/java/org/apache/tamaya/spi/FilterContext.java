@@ -78,6 +78,27 @@ public class FilterContext {
         this.singlePropertyScoped = true;
     }
 
+    /**
+     * Creates a new FilterContext for subclasses, which provide the value under evaluation themselves by
+     * overriding {@link #getProperty()} and {@link #getAllValues()}, e.g. for reusing a context when filtering
+     * many values. Unlike the public constructors the config entries are not copied, so they must not be
+     * changed while the context is in use.
+     *
+     * @param configEntries the raw configuration data available in the
+     *                      current evaluation configurationContext, not {@code null}.
+     * @param configurationContext the current configurationContext, not {@code null}.
+     * @param singlePropertyScoped true, if filtering is done for a single property accessed.
+     */
+    @Experimental
+    protected FilterContext(Map<String,PropertyValue> configEntries, ConfigurationContext configurationContext,
+                            boolean singlePropertyScoped) {
+        this.values = Collections.emptyList();
+        this.configurationContext = Objects.requireNonNull(configurationContext, "Context must not be null.");
+        this.configEntries = Collections.unmodifiableMap(
+                Objects.requireNonNull(configEntries, "Initial configuration entries must be not null."));
+        this.singlePropertyScoped = singlePropertyScoped;
+    }
+
     /**
      * Get the current configurationContext.
      * @return the current configurationContext, not {@code null}.
@@ -145,7 +166,7 @@ public class FilterContext {
 
     @Override
     public String toString() {
-        return "FilterContext{value='" + values + "', configEntries=" + configEntries.keySet() + '}';
+        return "FilterContext{value='" + getAllValues() + "', configEntries=" + configEntries.keySet() + '}';
     }
 
 }
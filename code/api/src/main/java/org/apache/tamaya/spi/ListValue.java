@@ -18,6 +18,8 @@
  */
 package org.apache.tamaya.spi;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.*;
 
 /**
@@ -35,7 +37,13 @@ public final class ListValue extends PropertyValue{
     private static final long serialVersionUID = 1L;
 
     /** List of child properties. */
-    private List<PropertyValue> list = new ArrayList<>();
+    private volatile PersistentVector<PropertyValue> list = PersistentVector.emptyVector();
+    /** The positions of the children, by identity. */
+    private transient volatile PersistentMap<PropertyValue, Integer> positions = PersistentMap.emptyIdentityMap();
+    /** The children by key, either a single value or an array of values in list order. */
+    private transient volatile PersistentMap<String, Object> valuesByKey = PersistentMap.emptyMap();
+    /** Flag, if the list may contain children of the immutable value this instance was copied from. */
+    private volatile boolean sharedValues;
 
     /**
      * Creates a new instance
@@ -54,13 +62,23 @@ public final class ListValue extends PropertyValue{
         return ValueType.ARRAY;
     }
 
+    @Override
+    public ListValue immutable(){
+        if(!isImmutable()){
+            super.immutable();
+            list.forEach(PropertyValue::immutable);
+        }
+        return this;
+    }
+
     /**
      * Get the index of the given member value.
      * @param member the member, not null.
      * @return the index, or -1.
      */
     public int getIndex(PropertyValue member) {
-        return this.list.indexOf(member);
+        Integer index = this.positions.get(member);
+        return index==null?-1:index;
     }
 
     /**
@@ -74,7 +92,7 @@ public final class ListValue extends PropertyValue{
 
     @Override
     public Iterator<PropertyValue> iterator() {
-        return Collections.unmodifiableList(this.list).iterator();
+        return ownValues().iterator();
     }
 
     /**
@@ -86,10 +104,9 @@ public final class ListValue extends PropertyValue{
      */
     public ListValue addPropertyValue(PropertyValue value) {
         checkImmutable();
-        if(!this.list.stream().filter(p -> p==value).findAny().isPresent()){
+        if(!this.positions.containsKey(value)){
             value.setKey(generateListKey());
-            value.setParent(this);
-            this.list.add(value);
+            append(value);
         }
         return this;
     }
@@ -113,13 +130,141 @@ public final class ListValue extends PropertyValue{
      * @see #isImmutable()
      */
     public ListValue addValues(String... values) {
-        List<PropertyValue> result = new ArrayList<>();
+        checkImmutable();
         for(String val:values) {
-            result.add(addPropertyValue(new PropertyValue(generateListKey(), val)));
+            append(new PropertyValue(generateListKey(), val));
         }
         return this;
     }
 
+    /**
+     * Appends a value not yet contained.
+     * @param value the value, not null.
+     */
+    private void append(PropertyValue value){
+        value.setParent(this);
+        this.positions = this.positions.plus(value, this.list.size());
+        this.list = this.list.plus(value);
+        addByKey(value);
+    }
+
+    private void addByKey(PropertyValue value){
+        Object existing = this.valuesByKey.get(value.getKey());
+        if(existing==null){
+            this.valuesByKey = this.valuesByKey.plus(value.getKey(), value);
+            return;
+        }
+        PropertyValue[] values = existing instanceof PropertyValue?
+                new PropertyValue[]{(PropertyValue)existing}:(PropertyValue[])existing;
+        int index = values.length;
+        int position = getIndex(value);
+        while(index>0 && getIndex(values[index-1])>position){
+            index--;
+        }
+        PropertyValue[] newValues = new PropertyValue[values.length + 1];
+        System.arraycopy(values, 0, newValues, 0, index);
+        newValues[index] = value;
+        System.arraycopy(values, index, newValues, index + 1, values.length - index);
+        this.valuesByKey = this.valuesByKey.plus(value.getKey(), newValues);
+    }
+
+    private void removeByKey(PropertyValue value, String key){
+        Object existing = this.valuesByKey.get(key);
+        if(existing==value){
+            this.valuesByKey = this.valuesByKey.minus(key);
+        }else if(existing instanceof PropertyValue[]){
+            PropertyValue[] values = (PropertyValue[])existing;
+            List<PropertyValue> newValues = new ArrayList<>(values.length);
+            for(PropertyValue v:values){
+                if(v!=value){
+                    newValues.add(v);
+                }
+            }
+            this.valuesByKey = this.valuesByKey.plus(key, newValues.size()==1?newValues.get(0):
+                    newValues.toArray(new PropertyValue[newValues.size()]));
+        }
+    }
+
+    private List<PropertyValue> getByKey(String key){
+        if(sharedValues){
+            synchronized (this) {
+                return findByKey(key, true);
+            }
+        }
+        return findByKey(key, false);
+    }
+
+    private List<PropertyValue> findByKey(String key, boolean own){
+        Object existing = this.valuesByKey.get(key);
+        if(existing==null){
+            return Collections.emptyList();
+        }
+        if(existing instanceof PropertyValue){
+            PropertyValue value = (PropertyValue)existing;
+            return Collections.singletonList(own?own(getIndex(value)):value);
+        }
+        PropertyValue[] values = ((PropertyValue[])existing).clone();
+        if(own){
+            for(int i=0;i<values.length;i++){
+                values[i] = own(getIndex(values[i]));
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /**
+     * Get the child at the given index, hereby replacing a child shared with the value this instance was
+     * copied from by a copy owned by this instance.
+     * @param index the index.
+     * @return the child owned, never null.
+     */
+    private PropertyValue own(int index){
+        PropertyValue child = this.list.get(index);
+        if(!sharedValues || child.getParent()==this){
+            return child;
+        }
+        synchronized (this) {
+            child = this.list.get(index);
+            if(child.getParent()==this){
+                return child;
+            }
+            PropertyValue copy = child.deepClone();
+            copy.setParent(this);
+            if(isImmutable()){
+                copy.markImmutable();
+            }
+            this.list = this.list.with(index, copy);
+            this.positions = this.positions.minus(child).plus(copy, index);
+            removeByKey(child, child.getKey());
+            addByKey(copy);
+            return copy;
+        }
+    }
+
+    /**
+     * Replaces all children shared with the value this instance was copied from by copies.
+     * @return the children owned, never null.
+     */
+    private List<PropertyValue> ownValues(){
+        if(sharedValues){
+            synchronized (this) {
+                for (int i=0;i<this.list.size();i++) {
+                    own(i);
+                }
+                sharedValues = false;
+            }
+        }
+        return this.list;
+    }
+
+    @Override
+    void childKeyChanged(PropertyValue child, String oldKey) {
+        if(this.positions.containsKey(child)){
+            removeByKey(child, oldKey);
+            addByKey(child);
+        }
+    }
+
     /**
      * Adds an anonymous child createObject to the array.
      * @return the created createObject, not null.
@@ -168,7 +313,7 @@ public final class ListValue extends PropertyValue{
      * @throws NoSuchElementException if no such element exists.
      */
     public PropertyValue getPropertyValue(int n) {
-        return this.list.get(n);
+        return own(n);
     }
 
 
@@ -178,13 +323,16 @@ public final class ListValue extends PropertyValue{
      * @return this values matching, never null.
      */
     public List<ObjectValue> getObjects(String name) {
-        List<ObjectValue> result = new ArrayList<>();
-        this.list.forEach(el -> {
-            if (el instanceof ObjectValue && name.equals(el.getKey())) {
+        List<ObjectValue> result = null;
+        for(PropertyValue el:getByKey(name)){
+            if (el instanceof ObjectValue) {
+                if(result==null){
+                    result = new ArrayList<>(1);
+                }
                 result.add((ObjectValue) el);
             }
-        });
-        return result;
+        }
+        return result==null?Collections.emptyList():result;
     }
 
     /**
@@ -193,13 +341,16 @@ public final class ListValue extends PropertyValue{
      * @return this values matching, never null.
      */
     public List<ListValue> getLists(String name) {
-        List<ListValue> result = new ArrayList<>();
-        this.list.forEach(el -> {
-                if (el instanceof ListValue && name.equals(el.getKey())) {
-                    result.add((ListValue) el);
+        List<ListValue> result = null;
+        for(PropertyValue el:getByKey(name)){
+            if (el instanceof ListValue) {
+                if(result==null){
+                    result = new ArrayList<>(1);
                 }
-            });
-        return result;
+                result.add((ListValue) el);
+            }
+        }
+        return result==null?Collections.emptyList():result;
     }
 
     /**
@@ -208,7 +359,7 @@ public final class ListValue extends PropertyValue{
      */
     public List<ListValue> getLists() {
         List<ListValue> result = new ArrayList<>();
-            this.list.forEach(el -> {
+            ownValues().forEach(el -> {
                 if (el instanceof ListValue) {
                     result.add((ListValue) el);
                 }
@@ -219,27 +370,44 @@ public final class ListValue extends PropertyValue{
     /**
      * Get the text elements, filtered by the given name.
      * @param name the name of the objects, null selects all.
-     * @return this values matching, never null.
+     * @return an unmodifiable view of the values matching, never null.
      */
     public List<PropertyValue> getPropertyValues(String name) {
-        List<PropertyValue> result = new ArrayList<>();
         if (name == null) {
-            result.addAll(this.list);
-        } else {
-            this.list.forEach(el -> {
-                if (name.equals(el.getKey())) {
-                    result.add(el);
-                }
-            });
+            return ownValues();
+        }
+        return getByKey(name);
+    }
+
+    @Override
+    String getChildKey(String qualifiedKey, PropertyValue child) {
+        return getChildKey(qualifiedKey, getIndex(child));
+    }
+
+    private static String getChildKey(String qualifiedKey, int index){
+        return qualifiedKey + '[' + index + ']';
+    }
+
+    @Override
+    void indexValues(String qualifiedKey, Map<String, PropertyValue> index) {
+        index.put(qualifiedKey, this);
+        for(int i=0;i<list.size();i++){
+            own(i).indexValues(getChildKey(qualifiedKey, i), index);
+        }
+    }
+
+    @Override
+    void collectValues(String qualifiedKey, Map<String, String> map) {
+        for(int i=0;i<list.size();i++){
+            list.get(i).collectValues(getChildKey(qualifiedKey, i), map);
         }
-        return result;
     }
 
     @Override
     public ObjectValue toObjectValue(){
         ObjectValue object = new ObjectValue(getKey());
         object.setParent(getParent());
-        object.setMeta(getMeta());
+        object.shareMeta(this);
         object.setVersion(getVersion());
         int index = 0;
         for(PropertyValue val: list){
@@ -276,16 +444,38 @@ public final class ListValue extends PropertyValue{
        return (ListValue)super.mutable();
     }
 
+    /**
+     * Creates a deep clone of this instance. The clone of an immutable instance shares the children with this
+     * instance, until they are accessed by the clone.
+     * @return the clone, never null.
+     */
     @Override
     protected ListValue deepClone(){
         ListValue newProp = new ListValue(getKey());
         newProp.setParent(getParent());
-        newProp.setMeta(getMeta());
-        list.forEach(c -> newProp.addPropertyValue(c.deepClone().mutable()));
+        newProp.shareMeta(this);
+        if(isImmutable()){
+            newProp.list = this.list;
+            newProp.positions = this.positions;
+            newProp.valuesByKey = this.valuesByKey;
+            newProp.sharedValues = true;
+        }else {
+            list.forEach(c -> newProp.addPropertyValue(c.deepClone().mutable()));
+        }
         newProp.setVersion(getVersion());
         return newProp;
     }
 
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        this.positions = PersistentMap.emptyIdentityMap();
+        this.valuesByKey = PersistentMap.emptyMap();
+        for(int i=0;i<this.list.size();i++){
+            this.positions = this.positions.plus(this.list.get(i), i);
+            addByKey(this.list.get(i));
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -36,7 +36,9 @@ public final class ObjectValue extends PropertyValue{
     private static final long serialVersionUID = 1L;
 
     /** List of child properties. */
-    private Map<String, PropertyValue> fields = new HashMap<>();
+    private volatile PersistentMap<String, PropertyValue> fields = PersistentMap.emptyMap();
+    /** Flag, if the fields may contain children of the immutable value this instance was copied from. */
+    private volatile boolean sharedFields;
 
 
     /**
@@ -56,20 +58,56 @@ public final class ObjectValue extends PropertyValue{
         return ValueType.MAP;
     }
 
+    @Override
+    public ObjectValue immutable(){
+        if(!isImmutable()){
+            super.immutable();
+            fields.values().forEach(PropertyValue::immutable);
+        }
+        return this;
+    }
+
     /**
-     * Get the fields of this instance.
+     * Get the fields of this instance. The collection returned is an unmodifiable view, reflecting later
+     * changes of this instance.
      * @return the current fields, never null.
      */
     public Collection<PropertyValue> getValues(){
-        return Collections.unmodifiableCollection(this.fields.values());
+        return new AbstractCollection<PropertyValue>() {
+            @Override
+            public Iterator<PropertyValue> iterator() {
+                return ownFields().values().iterator();
+            }
+
+            @Override
+            public int size() {
+                return fields.size();
+            }
+        };
     }
 
     /**
-     * Access the current present field names/keys.
+     * Access the current present field names/keys. The set returned is an unmodifiable view, reflecting later
+     * changes of this instance.
      * @return the keys present, never null.
      */
     public Set<String> getKeys() {
-        return Collections.unmodifiableSet(this.fields.keySet());
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return fields.keySet().iterator();
+            }
+
+            @Override
+            public int size() {
+                return fields.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return fields.containsKey(o);
+            }
+        };
     }
 
     /**
@@ -79,7 +117,7 @@ public final class ObjectValue extends PropertyValue{
      * @throws IllegalArgumentException if multiple getPropertyValues with the given name are existing (ambigous).
      */
     public PropertyValue getPropertyValue(String name){
-        return this.fields.get(name);
+        return own(name, this.fields.get(name));
     }
 
     /**
@@ -123,11 +161,11 @@ public final class ObjectValue extends PropertyValue{
      * @see #isImmutable()
      */
     public <T extends PropertyValue> T getOrSetValue(String name, Supplier<T> valueSupplier){
-        T field = (T)this.fields.get(name);
+        T field = (T)own(name, this.fields.get(name));
         if(field==null){
             checkImmutable();
             field = valueSupplier.get();
-            this.fields.put(name, field);
+            this.fields = this.fields.plus(name, field);
             incrementVersion();
         }
         return field;
@@ -160,17 +198,10 @@ public final class ObjectValue extends PropertyValue{
      */
     public ObjectValue setValues(Map<String, String> config, String source, boolean overwriteExisting) {
         checkImmutable();
-        Map<String, PropertyValue> result = PropertyValue.mapProperties(config, source);
-        for(Map.Entry<String,String> en:config.entrySet()){
-            PropertyValue value = new PropertyValue( en.getKey(), en.getValue());
+        for(PropertyValue value:PropertyValue.mapProperties(config, source).values()){
             value.setParent(this);
-            if(source!=null) {
-                value.setMeta("source", source);
-            }
-            if(overwriteExisting){
-                this.fields.put(en.getKey(), value);
-            }else{
-                this.fields.putIfAbsent(en.getKey(), value);
+            if(overwriteExisting || !this.fields.containsKey(value.getKey())){
+                this.fields = this.fields.plus(value.getKey(), value);
             }
         }
         return this;
@@ -185,7 +216,7 @@ public final class ObjectValue extends PropertyValue{
     public ListValue toListValue(){
         ListValue array = new ListValue(getKey());
         array.setParent(getParent());
-        array.setMeta(getMeta());
+        array.shareMeta(this);
         array.setVersion(getVersion());
         for(PropertyValue val:fields.values()){
             array.addPropertyValue(val.deepClone());
@@ -196,7 +227,7 @@ public final class ObjectValue extends PropertyValue{
 
     @Override
     public Iterator<PropertyValue> iterator() {
-        return Collections.unmodifiableCollection(this.fields.values()).iterator();
+        return ownFields().values().iterator();
     }
 
 
@@ -210,10 +241,52 @@ public final class ObjectValue extends PropertyValue{
     protected ObjectValue setPropertyValue(PropertyValue value) {
         checkImmutable();
         value.setParent(this);
-        this.fields.put(value.getKey(), value);
+        this.fields = this.fields.plus(value.getKey(), value);
         return this;
     }
 
+    /**
+     * Get the child with the given name, hereby replacing a child shared with the value this instance was
+     * copied from by a copy owned by this instance.
+     * @param name the child's name, not null.
+     * @param child the current child, or null.
+     * @return the child owned, or null.
+     */
+    private PropertyValue own(String name, PropertyValue child){
+        if(child==null || !sharedFields || child.getParent()==this){
+            return child;
+        }
+        synchronized (this) {
+            PropertyValue current = this.fields.get(name);
+            if(current!=child){
+                return current;
+            }
+            PropertyValue copy = child.deepClone();
+            copy.setParent(this);
+            if(isImmutable()){
+                copy.markImmutable();
+            }
+            this.fields = this.fields.plus(name, copy);
+            return copy;
+        }
+    }
+
+    /**
+     * Replaces all children shared with the value this instance was copied from by copies.
+     * @return the fields owned, never null.
+     */
+    private Map<String, PropertyValue> ownFields(){
+        if(sharedFields){
+            synchronized (this) {
+                for (Map.Entry<String, PropertyValue> en : this.fields.entrySet()) {
+                    own(en.getKey(), en.getValue());
+                }
+                sharedFields = false;
+            }
+        }
+        return this.fields;
+    }
+
     /**
      * Sets the given key, value pair.
      * @param k the key, not null.
@@ -294,16 +367,20 @@ public final class ObjectValue extends PropertyValue{
     @Override
     public Map<String,String> toMap(){
         Map<String, String> map = new TreeMap<>();
+        collectValues(getQualifiedKey(), map);
+        return map;
+    }
+
+    @Override
+    void collectValues(String qualifiedKey, Map<String, String> map) {
         for (PropertyValue n : fields.values()) {
+            String key = getChildKey(qualifiedKey, n);
             if (ValueType.VALUE.equals(n.getValueType())) {
-                map.put(n.getQualifiedKey(), n.getValue());
+                map.put(key, n.getValue());
             } else {
-                for(PropertyValue val:n) {
-                    map.putAll(val.toMap());
-                }
+                n.collectValues(key, map);
             }
         }
-        return map;
     }
 
     /**
@@ -338,12 +415,22 @@ public final class ObjectValue extends PropertyValue{
        return (ObjectValue)super.mutable();
     }
 
+    /**
+     * Creates a deep clone of this instance. The clone of an immutable instance shares the children with this
+     * instance, until they are accessed by the clone.
+     * @return the clone, never null.
+     */
     @Override
     protected ObjectValue deepClone(){
         ObjectValue newProp = new ObjectValue(getKey());
         newProp.setParent(getParent());
-        newProp.setMeta(getMeta());
-        fields.values().forEach(c -> newProp.setPropertyValue(c.deepClone().mutable()));
+        newProp.shareMeta(this);
+        if(isImmutable()){
+            newProp.fields = this.fields;
+            newProp.sharedFields = true;
+        }else {
+            fields.values().forEach(c -> newProp.setPropertyValue(c.deepClone().mutable()));
+        }
         newProp.setVersion(getVersion());
         return newProp;
     }
@@ -0,0 +1,370 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spi;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable map implemented as hash array mapped trie. Changing a map creates a new map in {@code O(log n)},
+ * which shares all unchanged parts of the trie with the original map. Keys must not be {@code null}. Maps
+ * created by {@link #emptyIdentityMap()} compare keys by identity.
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+final class PersistentMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Object NOT_FOUND = new Object();
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0, false);
+    private static final PersistentMap<?, ?> EMPTY_IDENTITY = new PersistentMap<>(null, 0, true);
+
+    /** The root node, or null, if the map is empty. */
+    private transient Node root;
+    private transient int size;
+    private final boolean identity;
+
+    private PersistentMap(Node root, int size, boolean identity){
+        this.root = root;
+        this.size = size;
+        this.identity = identity;
+    }
+
+    /**
+     * Get the empty map comparing keys using {@link Object#equals(Object)}.
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return the empty map, never null.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> emptyMap(){
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Get the empty map comparing keys by identity.
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return the empty map, never null.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> emptyIdentityMap(){
+        return (PersistentMap<K, V>) EMPTY_IDENTITY;
+    }
+
+    /**
+     * Creates a map with the given entry added or replaced.
+     * @param key the key, not null.
+     * @param value the value.
+     * @return the new map, or this map, if the same value is already mapped.
+     */
+    PersistentMap<K, V> plus(K key, V value){
+        Objects.requireNonNull(key);
+        boolean[] added = new boolean[1];
+        Node newRoot = root==null?Node.EMPTY:root;
+        newRoot = newRoot.put(0, hash(key), key, value, identity, added);
+        if(newRoot==root){
+            return this;
+        }
+        return new PersistentMap<>(newRoot, added[0]?size + 1:size, identity);
+    }
+
+    /**
+     * Creates a map with the given key removed.
+     * @param key the key, not null.
+     * @return the new map, or this map, if the key is not mapped.
+     */
+    PersistentMap<K, V> minus(Object key){
+        if(root==null){
+            return this;
+        }
+        Node newRoot = root.remove(0, hash(key), key, identity);
+        if(newRoot==root){
+            return this;
+        }
+        return new PersistentMap<>(newRoot, size - 1, identity);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        Object value = find(key);
+        return value==NOT_FOUND?null:(V)value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key)!=NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private Object find(Object key){
+        if(root==null || key==null){
+            return NOT_FOUND;
+        }
+        return root.find(0, hash(key), key, identity);
+    }
+
+    private int hash(Object key){
+        return identity?System.identityHashCode(key):key.hashCode();
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for(Entry<K, V> en:entrySet()){
+            out.writeObject(en.getKey());
+            out.writeObject(en.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        PersistentMap<K, V> map = identity?emptyIdentityMap():emptyMap();
+        for(int i=0;i<count;i++){
+            map = map.plus((K)in.readObject(), (V)in.readObject());
+        }
+        this.root = map.root;
+        this.size = map.size;
+    }
+
+    private Object readResolve() {
+        if(size==0){
+            return identity?EMPTY_IDENTITY:EMPTY;
+        }
+        return this;
+    }
+
+    /**
+     * Node of the trie. The array contains key/value pairs, where a {@code null} key marks a value being a sub
+     * node. Below the maximal depth, nodes contain the colliding entries without bitmap.
+     */
+    private static final class Node {
+
+        static final Node EMPTY = new Node(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] array;
+
+        Node(int bitmap, Object[] array){
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        Object find(int shift, int hash, Object key, boolean identity){
+            if(shift>=32){
+                for(int i=0;i<array.length;i+=2){
+                    if(equal(array[i], key, identity)){
+                        return array[i+1];
+                    }
+                }
+                return NOT_FOUND;
+            }
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if((bitmap & bit)==0){
+                return NOT_FOUND;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[index];
+            if(k==null){
+                return ((Node)array[index+1]).find(shift + BITS, hash, key, identity);
+            }
+            return equal(k, key, identity)?array[index+1]:NOT_FOUND;
+        }
+
+        Node put(int shift, int hash, Object key, Object value, boolean identity, boolean[] added){
+            if(shift>=32){
+                for(int i=0;i<array.length;i+=2){
+                    if(equal(array[i], key, identity)){
+                        return array[i+1]==value?this:with(i+1, value);
+                    }
+                }
+                added[0] = true;
+                Object[] newArray = Arrays.copyOf(array, array.length + 2);
+                newArray[array.length] = key;
+                newArray[array.length+1] = value;
+                return new Node(0, newArray);
+            }
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            if((bitmap & bit)==0){
+                added[0] = true;
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index+1] = value;
+                System.arraycopy(array, index, newArray, index + 2, array.length - index);
+                return new Node(bitmap | bit, newArray);
+            }
+            Object k = array[index];
+            Object v = array[index+1];
+            if(k==null){
+                Node child = ((Node)v).put(shift + BITS, hash, key, value, identity, added);
+                return child==v?this:with(index+1, child);
+            }
+            if(equal(k, key, identity)){
+                return v==value?this:with(index+1, value);
+            }
+            added[0] = true;
+            int otherHash = identity?System.identityHashCode(k):k.hashCode();
+            Node child = EMPTY.put(shift + BITS, otherHash, k, v, identity, new boolean[1])
+                    .put(shift + BITS, hash, key, value, identity, new boolean[1]);
+            Node result = with(index+1, child);
+            result.array[index] = null;
+            return result;
+        }
+
+        Node remove(int shift, int hash, Object key, boolean identity){
+            if(shift>=32){
+                for(int i=0;i<array.length;i+=2){
+                    if(equal(array[i], key, identity)){
+                        return array.length==2?null:new Node(0, without(i));
+                    }
+                }
+                return this;
+            }
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if((bitmap & bit)==0){
+                return this;
+            }
+            int index = 2 * Integer.bitCount(bitmap & (bit - 1));
+            Object k = array[index];
+            if(k==null){
+                Node child = ((Node)array[index+1]).remove(shift + BITS, hash, key, identity);
+                if(child==array[index+1]){
+                    return this;
+                }
+                if(child!=null){
+                    return with(index+1, child);
+                }
+            }else if(!equal(k, key, identity)){
+                return this;
+            }
+            return bitmap==bit?null:new Node(bitmap ^ bit, without(index));
+        }
+
+        private Node with(int index, Object value){
+            Object[] newArray = array.clone();
+            newArray[index] = value;
+            return new Node(bitmap, newArray);
+        }
+
+        private Object[] without(int index){
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+            return newArray;
+        }
+
+        private static boolean equal(Object k1, Object k2, boolean identity){
+            return k1==k2 || (!identity && k1!=null && k1.equals(k2));
+        }
+    }
+
+    /**
+     * Iterates the entries of a trie depth first.
+     * @param <K> the key type.
+     * @param <V> the value type.
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        /** The nodes on the current path, the depth is bounded by the hash bits plus the collision level. */
+        private final Node[] nodes = new Node[8];
+        private final int[] indexes = new int[8];
+        private int depth = -1;
+        private Entry<K, V> next;
+
+        EntryIterator(Node root){
+            if(root!=null){
+                nodes[0] = root;
+                depth = 0;
+                advance();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance(){
+            next = null;
+            while(depth>=0){
+                Node node = nodes[depth];
+                int index = indexes[depth];
+                if(index>=node.array.length){
+                    depth--;
+                    continue;
+                }
+                indexes[depth] = index + 2;
+                Object k = node.array[index];
+                if(k==null){
+                    depth++;
+                    nodes[depth] = (Node)node.array[index+1];
+                    indexes[depth] = 0;
+                }else{
+                    next = new SimpleImmutableEntry<>((K)k, (V)node.array[index+1]);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next!=null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if(next==null){
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> result = next;
+            advance();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spi;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list implemented as trie with a branching factor of 32. Appending or replacing an element creates
+ * a new list in {@code O(log n)}, which shares all unchanged parts of the trie with the original list. The
+ * last (up to 32) elements are kept in a separate tail, so appending is mostly a copy of the tail only.
+ * @param <E> the element type.
+ */
+final class PersistentVector<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private transient int size;
+    /** The level of the root node in bits. */
+    private transient int shift;
+    private transient Object[] root;
+    private transient Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail){
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Get the empty list.
+     * @param <E> the element type.
+     * @return the empty list, never null.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentVector<E> emptyVector(){
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if(index<0 || index>=size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E)nodeFor(index)[index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates a list with the given element appended.
+     * @param element the element.
+     * @return the new list, never null.
+     */
+    PersistentVector<E> plus(E element){
+        if(size - tailOffset() < WIDTH){
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Object[] newRoot;
+        int newShift = shift;
+        if((size >>> BITS) > (1 << shift)){
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        }else{
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    /**
+     * Creates a list with the element at the given index replaced.
+     * @param index the index.
+     * @param element the new element.
+     * @return the new list, never null.
+     */
+    PersistentVector<E> with(int index, E element){
+        if(index<0 || index>=size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if(index>=tailOffset()){
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, with(shift, root, index, element), tail);
+    }
+
+    private int tailOffset(){
+        return size<WIDTH?0:((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] nodeFor(int index){
+        if(index>=tailOffset()){
+            return tail;
+        }
+        Object[] node = root;
+        for(int level = shift; level>0; level -= BITS){
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode){
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        Object[] nodeToInsert;
+        if(level==BITS){
+            nodeToInsert = tailNode;
+        }else{
+            Object[] child = (Object[]) parent[subIndex];
+            nodeToInsert = child!=null?pushTail(level - BITS, child, tailNode):newPath(level - BITS, tailNode);
+        }
+        result[subIndex] = nodeToInsert;
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node){
+        if(level==0){
+            return node;
+        }
+        Object[] result = new Object[WIDTH];
+        result[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    private static Object[] with(int level, Object[] node, int index, Object element){
+        Object[] result = node.clone();
+        if(level==0){
+            result[index & MASK] = element;
+        }else{
+            int subIndex = (index >>> level) & MASK;
+            result[subIndex] = with(level - BITS, (Object[]) node[subIndex], index, element);
+        }
+        return result;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for(E element:this){
+            out.writeObject(element);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        PersistentVector<E> vector = emptyVector();
+        for(int i=0;i<count;i++){
+            vector = vector.plus((E)in.readObject());
+        }
+        this.size = vector.size;
+        this.shift = vector.shift;
+        this.root = vector.root;
+        this.tail = vector.tail;
+    }
+}
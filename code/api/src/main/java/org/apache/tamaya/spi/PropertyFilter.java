@@ -18,6 +18,9 @@
  */
 package org.apache.tamaya.spi;
 
+import java.util.Collection;
+import java.util.Collections;
+
 
 /**
  * <p>Interface for filtering the current mapProperties of properties during the evaluation of the chain of PropertySources.
@@ -48,4 +51,26 @@ public interface PropertyFilter{
      */
     PropertyValue filterProperty(PropertyValue value, FilterContext context);
 
+    /**
+     * Declares whether this filter is idempotent, meaning applying it again to any value already passed through
+     * the filter chain does not change the value anymore. By default filters are applied in a loop until no
+     * filter changes the value. If all filters registered are idempotent, this loop ends after the first pass.
+     * @return true, if this filter is idempotent. By default {@code false} is returned.
+     */
+    @Experimental
+    default boolean isIdempotent(){
+        return false;
+    }
+
+    /**
+     * Declares the key prefixes this filter applies to, e.g. {@code db.} or {@code secret.}. Values with keys
+     * not starting with any of the prefixes are not passed to this filter, which saves evaluating filters
+     * irrelevant for most keys.
+     * @return the key prefixes, or an empty collection, if this filter applies to all keys (default).
+     */
+    @Experimental
+    default Collection<String> getKeyPrefixes(){
+        return Collections.emptySet();
+    }
+
 }
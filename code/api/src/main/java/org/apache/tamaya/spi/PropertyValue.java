@@ -20,7 +20,7 @@ package org.apache.tamaya.spi;
 
 import java.io.Serializable;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Class modelling the result of a request for a property createValue. A property createValue is basically identified by its key.
@@ -34,9 +34,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class PropertyValue implements Serializable, Iterable<PropertyValue>{
 
-    private static final long serialVersionUID = 2L;
+    private static final long serialVersionUID = 3L;
     private static final int EMPTY = 0;
     private static final String SOURCE = "source";
+    private static final AtomicIntegerFieldUpdater<PropertyValue> VERSION =
+            AtomicIntegerFieldUpdater.newUpdater(PropertyValue.class, "version");
     /** The requested key. */
     private String key;
     /** The createValue. */
@@ -44,11 +46,20 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
     /** The parent value, null if it's a root value. */
     private PropertyValue parent;
     /** The createValue version, used for determining config changes. */
-    private AtomicInteger version = new AtomicInteger();
+    private volatile int version;
     /** Flag to mark a createValue as immutable. */
     private boolean immutable;
-    /** Additional metadata provided by the provider. */
-    private final Map<String,String> metaEntries = new HashMap<>();
+    /**
+     * Additional metadata provided by the provider. The map may be shared with other values, see
+     * {@link #metaShared}, so values without own metadata do not allocate a map of their own.
+     */
+    private Map<String,String> metaEntries = Collections.emptyMap();
+    /** Flag, if {@link #metaEntries} is shared and must be copied before being changed. */
+    private boolean metaShared = true;
+    /** The qualified key, cached once this value and all its parents are immutable. */
+    private transient String qualifiedKey;
+    /** The flat index, cached together with the qualified key. */
+    private transient Map<String,PropertyValue> flatIndex;
 
     /**
      * Enum of the different supported value types.
@@ -89,6 +100,43 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
         return new PropertyValue(key, value);
     }
 
+    /**
+     * Creates a new createValue of type {@link ValueType#VALUE}, which references the given shared metadata.
+     * The metadata is copied only, if the value's metadata is changed.
+     * @param key the key, not {@code null}.
+     * @param value the createValue, not null.
+     * @param sharedMeta the metadata, as created by {@link #createSharedMeta(Map)}, not {@code null}.
+     * @return a new createValue instance.
+     */
+    @Experimental
+    public static PropertyValue createValue(String key, String value, SharedMeta sharedMeta){
+        PropertyValue pv = new PropertyValue(key, value);
+        pv.metaEntries = sharedMeta.metaEntries;
+        return pv;
+    }
+
+    /**
+     * Creates immutable metadata, which can be shared by all values of a property source, see
+     * {@link #createValue(String, String, SharedMeta)}.
+     * @param metaEntries the metadata, not {@code null}.
+     * @return the shared metadata, never null.
+     */
+    @Experimental
+    public static SharedMeta createSharedMeta(Map<String,String> metaEntries){
+        return new SharedMeta(metaEntries);
+    }
+
+    /**
+     * Creates immutable metadata containing only the {@code source} entry, which can be shared by all values
+     * of a property source, see {@link #createValue(String, String, SharedMeta)}.
+     * @param source the source, not {@code null}.
+     * @return the shared metadata, never null.
+     */
+    @Experimental
+    public static SharedMeta createSharedMeta(String source){
+        return new SharedMeta(Collections.singletonMap(SOURCE, Objects.requireNonNull(source)));
+    }
+
     /**
      * Creates a new createValue of type {@link ValueType#ARRAY}.
      * @param key the key, not {@code null}.
@@ -144,20 +192,18 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
         Objects.requireNonNull(config, "Config must be given.");
 
         Map<String, PropertyValue> result = new HashMap<>(config.size());
-
+        // all values share the same metadata, until changed
+        Map<String,String> meta = new HashMap<>();
+        if(metaData!=null) {
+            meta.putAll(metaData);
+        }
+        if(source!=null){
+            meta.put(SOURCE, source);
+        }
+        SharedMeta sharedMeta = createSharedMeta(meta);
         for(Map.Entry<String,String> en:config.entrySet()){
-            PropertyValue pv = createValue(en.getKey(), en.getValue());
-            if(metaData!=null) {
-                pv.setMeta(metaData);
-            }
-            if(source!=null){
-                pv.setMeta(SOURCE, source);
-            }
-            if(prefix==null) {
-                result.put(en.getKey(), pv);
-            }else{
-                result.put(prefix + en.getKey(), pv.setKey(prefix=en.getKey()));
-            }
+            String key = (prefix==null?en.getKey():prefix + en.getKey()).intern();
+            result.put(key, createValue(key, en.getValue(), sharedMeta));
         }
         return result;
     }
@@ -190,7 +236,7 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
 
     /**
      * Sets this instance and also all its direct an indirect children to immutable. Any further changes will throw
-     * an {@link IllegalStateException}.
+     * an {@link IllegalStateException}. Qualified keys of immutable values are cached.
      * @return this instance for chaining.
      */
     public PropertyValue immutable(){
@@ -198,6 +244,13 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
         return this;
     }
 
+    /**
+     * Marks only this instance as immutable, used for copies sharing the children of an immutable value.
+     */
+    final void markImmutable(){
+        this.immutable = true;
+    }
+
     /**
      * Clones this instance and all it's children, marking as mutable createValue.
      * @return the new createValue clone.
@@ -277,20 +330,93 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
      *     a.b[4].c.d[0].[1].any
      * </pre>
      *
+     * Once this value and all its parents are immutable the qualified key is evaluated only once.
+     *
      * @return the qualified key, never null..
      */
     public String getQualifiedKey(){
-        if(parent==null){
-            return key;
+        String qualifiedKey = this.qualifiedKey;
+        if(qualifiedKey!=null){
+            return qualifiedKey;
         }
-        String parentName =  parent.getQualifiedKey();
-        if(parent instanceof ListValue){
-            return parentName+"["+((ListValue)parent).getIndex(this)+"]";
+        PropertyValue parent = this.parent;
+        if(parent==null){
+            qualifiedKey = key;
         }else{
-            if(!parentName.isEmpty()){
-                parentName+=".";
+            qualifiedKey = parent.getChildKey(parent.getQualifiedKey(), this);
+        }
+        if(immutable && (parent==null || parent.qualifiedKey!=null)){
+            this.qualifiedKey = qualifiedKey;
+        }
+        return qualifiedKey;
+    }
+
+    /**
+     * Evaluates the qualified key of a child of this value.
+     * @param qualifiedKey the qualified key of this value, not null.
+     * @param child the child, not null.
+     * @return the child's qualified key, never null.
+     */
+    String getChildKey(String qualifiedKey, PropertyValue child){
+        if(qualifiedKey.isEmpty()){
+            return child.getKey();
+        }
+        return qualifiedKey + '.' + child.getKey();
+    }
+
+    /**
+     * Get a flat index of this value and all its direct and indirect children, mapping the qualified keys
+     * (see {@link #getQualifiedKey()}) to the corresponding values. The index is evaluated in linear time and
+     * reused, once this value and all its parents are immutable.
+     * @return the index, never null.
+     */
+    @Experimental
+    public final Map<String,PropertyValue> getFlatIndex(){
+        Map<String,PropertyValue> index = this.flatIndex;
+        if(index==null){
+            Map<String,PropertyValue> values = new HashMap<>();
+            indexValues(getQualifiedKey(), values);
+            index = Collections.unmodifiableMap(values);
+            if(this.qualifiedKey!=null){
+                this.flatIndex = index;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Adds this value and all its children to the given index.
+     * @param qualifiedKey the qualified key of this value, not null.
+     * @param index the target index, not null.
+     */
+    void indexValues(String qualifiedKey, Map<String,PropertyValue> index){
+        index.put(qualifiedKey, this);
+        for(PropertyValue child:this){
+            child.indexValues(getChildKey(qualifiedKey, child), index);
+        }
+    }
+
+    /**
+     * Adds the values of this value and all its children to the given property map.
+     * @param qualifiedKey the qualified key of this value, not null.
+     * @param map the target map, not null.
+     */
+    void collectValues(String qualifiedKey, Map<String,String> map){
+        if(value!=null) {
+            map.put(qualifiedKey, value);
+        }
+    }
+
+    /**
+     * Clears the cached qualified keys of this value and all its children.
+     */
+    private void clearQualifiedKey(){
+        if(this.qualifiedKey!=null){
+            this.qualifiedKey = null;
+            this.flatIndex = null;
+            for(PropertyValue child:this){
+                child.clearQualifiedKey();
             }
-            return parentName+key;
         }
     }
 
@@ -307,7 +433,7 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
      * @return the version.
      */
     public final int getVersion(){
-        return version.get();
+        return version;
     }
 
 
@@ -381,9 +507,9 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
     public final PropertyValue setMeta(Map<String, String> metaEntries) {
         checkImmutable();
         if(!Objects.equals(this.metaEntries, metaEntries)) {
-            this.metaEntries.clear();
-            this.metaEntries.putAll(metaEntries);
-            version.incrementAndGet();
+            this.metaEntries = new HashMap<>(metaEntries);
+            this.metaShared = false;
+            VERSION.incrementAndGet(this);
         }
         return this;
     }
@@ -401,8 +527,8 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
         Objects.requireNonNull(key, "Meta key must be given.");
         Objects.requireNonNull(value, "Meta value must be given.");
         if(!Objects.equals(this.metaEntries.get(key), value.toString())) {
-            this.metaEntries.put(key, value.toString());
-            version.incrementAndGet();
+            ownMeta().put(key, value.toString());
+            VERSION.incrementAndGet(this);
         }
         return this;
     }
@@ -418,12 +544,37 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
         checkImmutable();
         Objects.requireNonNull(key, "Key must be given.");
         if(this.metaEntries.containsKey(key)) {
-            this.metaEntries.remove(key);
-            version.incrementAndGet();
+            ownMeta().remove(key);
+            VERSION.incrementAndGet(this);
         }
         return this;
     }
 
+    /**
+     * Get the metadata for being changed, copying it if it is shared.
+     * @return the metadata owned by this instance, never null.
+     */
+    private Map<String,String> ownMeta() {
+        if(metaShared){
+            metaEntries = new HashMap<>(metaEntries);
+            metaShared = false;
+        }
+        return metaEntries;
+    }
+
+    /**
+     * Sets the metadata to the metadata of the given value. The metadata is shared by both values, until
+     * one of them changes it.
+     * @param other the value, not null.
+     */
+    final void shareMeta(PropertyValue other) {
+        if(this.metaEntries!=other.metaEntries) {
+            other.metaShared = true;
+            this.metaEntries = other.metaEntries;
+            this.metaShared = true;
+        }
+    }
+
 
     /**
      * Convert the value tree to a property map.
@@ -431,9 +582,7 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
      */
     public Map<String,String> toMap(){
         Map<String, String> map = new TreeMap<>();
-        if(value!=null) {
-            map.put(getQualifiedKey(), value);
-        }
+        collectValues(getQualifiedKey(), map);
         return map;
     }
 
@@ -489,9 +638,8 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
     protected PropertyValue deepClone() {
         PropertyValue newProp = new PropertyValue(getKey(), this.value);
         newProp.setParent(getParent());
-        newProp.setMeta(getMeta());
+        newProp.shareMeta(this);
         newProp.setVersion(getVersion());
-        newProp.setValue(getValue());
         return newProp;
     }
 
@@ -510,7 +658,7 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
      */
     protected final int incrementVersion(){
         checkImmutable();
-        return version.incrementAndGet();
+        return VERSION.incrementAndGet(this);
     }
 
     /**
@@ -518,7 +666,7 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
      * @param version the new version.
      */
     protected final void setVersion(int version) {
-        this.version.set(version);
+        this.version = version;
     }
 
     /**
@@ -532,12 +680,25 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
     public PropertyValue setKey(String key) {
         checkImmutable();
         if(!Objects.equals(this.key, key)) {
+            String oldKey = this.key;
             this.key = Objects.requireNonNull(key);
-            version.incrementAndGet();
+            VERSION.incrementAndGet(this);
+            if(parent!=null){
+                parent.childKeyChanged(this, oldKey);
+            }
         }
         return this;
     }
 
+    /**
+     * Called after the key of a child of this value has changed.
+     * @param child the child, not null.
+     * @param oldKey the child's previous key, not null.
+     */
+    void childKeyChanged(PropertyValue child, String oldKey){
+        // no index to update
+    }
+
     /**
      * Sets the new parent, used iternally when converting between value types.
      * @param parent the parent value.
@@ -545,6 +706,7 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
      */
     protected PropertyValue setParent(PropertyValue parent){
         this.parent = parent;
+        clearQualifiedKey();
         return this;
     }
 
@@ -567,4 +729,56 @@ public class PropertyValue implements Serializable, Iterable<PropertyValue>{
         return Objects.hash(getParent(), getKey(), value, getMeta());
     }
 
+    /**
+     * Immutable metadata shared by multiple values, typically all values of a property source. Values
+     * referencing shared metadata copy it only when their metadata is changed.
+     */
+    @Experimental
+    public static final class SharedMeta implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private final Map<String,String> metaEntries;
+
+        private SharedMeta(Map<String,String> metaEntries){
+            if(metaEntries.isEmpty()){
+                this.metaEntries = Collections.emptyMap();
+            }else if(metaEntries.size()==1){
+                Map.Entry<String,String> en = metaEntries.entrySet().iterator().next();
+                this.metaEntries = Collections.singletonMap(
+                        Objects.requireNonNull(en.getKey()), Objects.requireNonNull(en.getValue()));
+            }else{
+                this.metaEntries = Collections.unmodifiableMap(new HashMap<>(metaEntries));
+            }
+        }
+
+        /**
+         * Get the metadata.
+         * @return the metadata, never null.
+         */
+        public Map<String,String> getMeta(){
+            return metaEntries;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SharedMeta)) {
+                return false;
+            }
+            return metaEntries.equals(((SharedMeta) o).metaEntries);
+        }
+
+        @Override
+        public int hashCode() {
+            return metaEntries.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "SharedMeta" + metaEntries;
+        }
+    }
+
 }
@@ -42,6 +42,17 @@ public class FilterContextTest {
         assertThat(ctx.getAllValues()).hasSize(1);
     }
 
+    @Test
+    public void constructorForSubclasses() {
+        Map<String,PropertyValue> entries = new HashMap<>();
+        entries.put("a", PropertyValue.createValue("a", "1"));
+        FilterContext ctx = new FilterContext(entries, ConfigurationContext.EMPTY, false){};
+        assertThat(ctx.getAllValues()).isEmpty();
+        assertThat(ctx.isSinglePropertyScoped()).isFalse();
+        entries.put("b", PropertyValue.createValue("b", "2"));
+        assertThat(ctx.getConfigEntries()).hasSize(2);
+    }
+
 //    @Test
 //    public void setNullContext() {
 //        FilterContext.setPropertyValue(null);
@@ -20,6 +20,11 @@ package org.apache.tamaya.spi;
 
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
 import java.util.Iterator;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -285,4 +290,93 @@ public class ListValueTest {
         assertThat("List{, size='3', values=[List{, size='0', values=[]}, Object{size='0', values='{}}, " +
                 "valueKey]}").isEqualTo(toString);
     }
+
+    @Test
+    public void toMap() {
+        ListValue lv = PropertyValue.createList("foo");
+        lv.addValue("a");
+        lv.addList().addValues("b", "c");
+        lv.addObject().setValue("d", "dVal");
+        assertThat(lv.toMap()).hasSize(4)
+                .containsEntry("foo[0]", "a")
+                .containsEntry("foo[1][0]", "b")
+                .containsEntry("foo[1][1]", "c")
+                .containsEntry("foo[2].d", "dVal");
+    }
+
+    @Test
+    public void getIndex_ByIdentity() {
+        ListValue lv = PropertyValue.createList("foo");
+        lv.addValues("a", "a");
+        assertThat(lv.getIndex(lv.getPropertyValue(0))).isEqualTo(0);
+        assertThat(lv.getIndex(lv.getPropertyValue(1))).isEqualTo(1);
+        assertThat(lv.getPropertyValue(1).getQualifiedKey()).isEqualTo("foo[1]");
+        lv.addPropertyValue(lv.getPropertyValue(0));
+        assertThat(lv.getSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void addValues_Many() {
+        ListValue lv = PropertyValue.createList("foo");
+        String[] values = new String[100_000];
+        Arrays.fill(values, "v");
+        lv.addValues(values);
+        assertThat(lv.getSize()).isEqualTo(100_000);
+        PropertyValue last = lv.getPropertyValue(99_999);
+        assertThat(lv.getIndex(last)).isEqualTo(99_999);
+        assertThat(lv.getPropertyValues("[99999]")).containsExactly(last);
+    }
+
+    @Test
+    public void getPropertyValues_KeyChanged() {
+        ListValue lv = PropertyValue.createList("foo");
+        lv.addValues("a", "b", "c");
+        lv.getPropertyValue(2).setKey("x");
+        lv.getPropertyValue(0).setKey("x");
+        assertThat(lv.getPropertyValues("[0]")).isEmpty();
+        assertThat(lv.getPropertyValues("x")).containsExactly(lv.getPropertyValue(0), lv.getPropertyValue(2));
+        ObjectValue ov = lv.addObject();
+        ov.setKey("x");
+        assertThat(lv.getObjects("x")).containsExactly(ov);
+        assertThat(lv.getLists("x")).isEmpty();
+    }
+
+    @Test
+    public void serialization_RestoresIndex() throws Exception {
+        ListValue lv = PropertyValue.createList("foo");
+        lv.addValues("a", "b");
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(lv);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            ListValue read = (ListValue) ois.readObject();
+            assertThat(read).isEqualTo(lv);
+            assertThat(read.getIndex(read.getPropertyValue(1))).isEqualTo(1);
+            assertThat(read.getPropertyValues("[1]")).containsExactly(read.getPropertyValue(1));
+        }
+    }
+
+    @Test
+    public void mutable_SharesUnchangedChildren() {
+        ListValue lv = PropertyValue.createList("foo");
+        lv.addValues("a", "b");
+        lv.addObject().setValue("x", "1");
+        lv.immutable();
+        ListValue copy = lv.mutable();
+        assertThat(copy).isEqualTo(lv);
+        PropertyValue b = copy.getPropertyValue(1);
+        b.setValue("changed");
+        assertThat(b.getParent()).isSameAs(copy);
+        assertThat(copy.getIndex(b)).isEqualTo(1);
+        assertThat(copy.getPropertyValues("[1]")).containsExactly(b);
+        assertThat(lv.getValue(1)).isEqualTo("b");
+        assertThat(copy.getObjects("[2]").get(0).getPropertyValue("x").getQualifiedKey()).isEqualTo("foo[2].x");
+        copy.addValue("c");
+        assertThat(copy.toMap()).containsEntry("foo[1]", "changed").containsEntry("foo[3]", "c").hasSize(4);
+        assertThat(lv.toMap()).containsEntry("foo[1]", "b").hasSize(3);
+        for (PropertyValue child : copy) {
+            assertThat(child.getParent()).isSameAs(copy);
+        }
+    }
 }
@@ -24,6 +24,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -68,6 +69,25 @@ public class ObjectValueTest {
         assertThat(ov.getKeys()).contains("k", "k2");
     }
 
+    @Test
+    public void getKeys_LiveView() {
+        ObjectValue ov = PropertyValue.createObject();
+        ov.setValue("k", "v");
+        Set<String> keys = ov.getKeys();
+        Collection<PropertyValue> values = ov.getValues();
+        ov.setValue("k2", "v2");
+        assertThat(keys).containsExactlyInAnyOrder("k", "k2");
+        assertThat(values).hasSize(2);
+        assertThat(values).contains(ov.getPropertyValue("k2"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getKeys_Unmodifiable() {
+        ObjectValue ov = PropertyValue.createObject();
+        ov.setValue("k", "v");
+        ov.getKeys().remove("k");
+    }
+
     @Test
     public void getSize() {
         ObjectValue ov = PropertyValue.createObject();
@@ -363,4 +383,90 @@ public class ObjectValueTest {
         assertThat(toString).isNotNull();
         assertThat("Object{size='3', values='{valueKey=value}}").isEqualTo(toString);
     }
+
+    @Test
+    public void immutable_PropagatesToChildren() {
+        ObjectValue ov = PropertyValue.createObject("foo");
+        ObjectValue child = ov.addObject("child");
+        ListValue list = child.addList("list");
+        list.addValue("a");
+        ov.immutable();
+        assertThat(child.isImmutable()).isTrue();
+        assertThat(list.isImmutable()).isTrue();
+        assertThat(list.getPropertyValue(0).isImmutable()).isTrue();
+    }
+
+    @Test
+    public void getQualifiedKey_CachedWhenImmutable() {
+        ObjectValue ov = PropertyValue.createObject("foo");
+        PropertyValue value = ov.addObject("child").addList("list").addObject().addObject("bar");
+        assertThat(value.getQualifiedKey()).isEqualTo("foo.child.list[0].bar")
+                .isNotSameAs(value.getQualifiedKey());
+        ov.immutable();
+        assertThat(value.getQualifiedKey()).isEqualTo("foo.child.list[0].bar")
+                .isSameAs(value.getQualifiedKey());
+        ObjectValue other = PropertyValue.createObject("other");
+        other.setPropertyValue(ov);
+        assertThat(value.getQualifiedKey()).isEqualTo("other.foo.child.list[0].bar");
+    }
+
+    @Test
+    public void getFlatIndex() {
+        ObjectValue ov = PropertyValue.createObject("");
+        ov.setValue("a", "aVal");
+        ObjectValue b = ov.addObject("b");
+        b.setValue("c", "cVal");
+        ListValue list = b.addList("d");
+        list.addValues("d0", "d1");
+        Map<String, PropertyValue> index = ov.getFlatIndex();
+        assertThat(index).containsOnlyKeys("", "a", "b", "b.c", "b.d", "b.d[0]", "b.d[1]");
+        assertThat(index.get("b.d[1]")).isSameAs(list.getPropertyValue(1));
+        assertThat(b.getFlatIndex()).containsOnlyKeys("b", "b.c", "b.d", "b.d[0]", "b.d[1]");
+        assertThat(ov.getFlatIndex()).isNotSameAs(index);
+        ov.immutable();
+        assertThat(ov.getFlatIndex()).isEqualTo(index).isSameAs(ov.getFlatIndex());
+        for (Map.Entry<String, PropertyValue> en : index.entrySet()) {
+            assertThat(en.getValue().getQualifiedKey()).isEqualTo(en.getKey());
+        }
+    }
+
+    @Test
+    public void mutable_SharesUnchangedChildren() {
+        ObjectValue ov = PropertyValue.createObject("foo");
+        ObjectValue a = ov.addObject("a");
+        a.setValue("x", "1");
+        ObjectValue b = ov.addObject("b");
+        b.setValue("y", "2");
+        ov.immutable();
+        ObjectValue copy = ov.mutable();
+        assertThat(copy).isNotSameAs(ov).isEqualTo(ov);
+        PropertyValue x = ((ObjectValue) copy.getPropertyValue("a")).getPropertyValue("x");
+        x.setValue("changed");
+        assertThat(x.getQualifiedKey()).isEqualTo("foo.a.x");
+        assertThat(x.getParent().getParent()).isSameAs(copy);
+        assertThat(a.getValue("x")).isEqualTo("1");
+        assertThat(copy.toMap()).containsEntry("foo.a.x", "changed").containsEntry("foo.b.y", "2");
+        assertThat(ov.toMap()).containsEntry("foo.a.x", "1").containsEntry("foo.b.y", "2");
+        assertThat(copy.getPropertyValue("a")).isSameAs(copy.getPropertyValue("a"));
+        for (PropertyValue child : copy) {
+            assertThat(child.getParent()).isSameAs(copy);
+            assertThat(child.isImmutable()).isFalse();
+        }
+        assertThat(b.getParent()).isSameAs(ov);
+    }
+
+    @Test
+    public void mutable_RenamedCopy() {
+        ObjectValue ov = PropertyValue.createObject("foo");
+        ov.addObject("a").setValue("x", "1");
+        ov.immutable();
+        ObjectValue copy = ov.mutable();
+        copy.setKey("bar");
+        copy.immutable();
+        PropertyValue x = ((ObjectValue) copy.getPropertyValue("a")).getPropertyValue("x");
+        assertThat(x.isImmutable()).isTrue();
+        assertThat(x.getQualifiedKey()).isEqualTo("bar.a.x");
+        assertThat(copy.getFlatIndex()).containsOnlyKeys("bar", "bar.a", "bar.a.x");
+        assertThat(ov.getFlatIndex()).containsOnlyKeys("foo", "foo.a", "foo.a.x");
+    }
 }
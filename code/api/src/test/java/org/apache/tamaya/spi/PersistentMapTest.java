@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spi;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentMap}.
+ */
+public class PersistentMapTest {
+
+    @Test
+    public void plusAndMinus_SameAsHashMap() {
+        Random random = new Random(42);
+        Map<Key, Integer> expected = new HashMap<>();
+        PersistentMap<Key, Integer> map = PersistentMap.emptyMap();
+        for (int i = 0; i < 20_000; i++) {
+            Key key = new Key(random.nextInt(5000));
+            if (random.nextInt(4) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+        }
+        assertThat(map).isEqualTo(expected).hasSameSizeAs(expected);
+        assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+        for (Map.Entry<Key, Integer> en : expected.entrySet()) {
+            assertThat(map.get(en.getKey())).isEqualTo(en.getValue());
+        }
+        assertThat(map.containsKey(new Key(-1))).isFalse();
+    }
+
+    @Test
+    public void plus_SharesWithOriginal() {
+        PersistentMap<String, String> map = PersistentMap.emptyMap();
+        map = map.plus("a", "1").plus("b", "2");
+        PersistentMap<String, String> changed = map.plus("a", "3").minus("b").plus("c", "4");
+        assertThat(map).containsOnly(entry("a", "1"), entry("b", "2"));
+        assertThat(changed).containsOnly(entry("a", "3"), entry("c", "4"));
+        assertThat(map.plus("a", "1")).isSameAs(map);
+        assertThat(map.minus("x")).isSameAs(map);
+        assertThat(map.minus("a").minus("b")).isEmpty();
+    }
+
+    @Test
+    public void identityMap() {
+        PersistentMap<String, Integer> map = PersistentMap.emptyIdentityMap();
+        String a = new String("a");
+        String a2 = new String("a");
+        map = map.plus(a, 1).plus(a2, 2);
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.get(a)).isEqualTo(1);
+        assertThat(map.get(a2)).isEqualTo(2);
+        assertThat(map.containsKey("a")).isFalse();
+        assertThat(map.minus(a).get(a2)).isEqualTo(2);
+    }
+
+    @Test
+    public void serialization() throws Exception {
+        PersistentMap<Key, String> map = PersistentMap.emptyMap();
+        for (int i = 0; i < 100; i++) {
+            map = map.plus(new Key(i), "v" + i);
+        }
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(map);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            PersistentMap<Key, String> read = (PersistentMap<Key, String>) ois.readObject();
+            assertThat(read).isEqualTo(map);
+            assertThat(read.plus(new Key(100), "v100")).hasSize(101);
+        }
+    }
+
+    private static Map.Entry<String, String> entry(String key, String value) {
+        return new AbstractMap.SimpleImmutableEntry<>(key, value);
+    }
+
+    /**
+     * Key with many hash collisions.
+     */
+    private static final class Key implements Serializable {
+        private final int value;
+
+        Key(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 1000 == 0 ? 7 : value * 0x9E3779B9;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spi;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentVector}.
+ */
+public class PersistentVectorTest {
+
+    @Test
+    public void plus_SameAsArrayList() {
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.emptyVector();
+        for (int i = 0; i < 40_000; i++) {
+            expected.add(i);
+            vector = vector.plus(i);
+        }
+        assertThat(vector).isEqualTo(expected).hasSameHashCodeAs(expected);
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertThat(vector.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void with_SharesWithOriginal() {
+        PersistentVector<Integer> vector = PersistentVector.emptyVector();
+        for (int i = 0; i < 2000; i++) {
+            vector = vector.plus(i);
+        }
+        PersistentVector<Integer> changed = vector.with(0, -1).with(1500, -2).with(1999, -3);
+        assertThat(vector.get(0)).isEqualTo(0);
+        assertThat(vector.get(1500)).isEqualTo(1500);
+        assertThat(vector.get(1999)).isEqualTo(1999);
+        assertThat(changed.get(0)).isEqualTo(-1);
+        assertThat(changed.get(1500)).isEqualTo(-2);
+        assertThat(changed.get(1999)).isEqualTo(-3);
+        assertThat(changed.get(1)).isEqualTo(1);
+        assertThat(changed.plus(2000).get(2000)).isEqualTo(2000);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_OutOfBounds() {
+        PersistentVector.<String>emptyVector().plus("a").get(1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutable() {
+        PersistentVector.<String>emptyVector().plus("a").add("b");
+    }
+
+    @Test
+    public void serialization() throws Exception {
+        PersistentVector<String> vector = PersistentVector.emptyVector();
+        for (int i = 0; i < 100; i++) {
+            vector = vector.plus("v" + i);
+        }
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(vector);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            Object read = ois.readObject();
+            assertThat(read).isEqualTo(vector);
+        }
+    }
+}
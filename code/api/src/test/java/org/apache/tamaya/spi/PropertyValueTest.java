@@ -20,7 +20,12 @@ package org.apache.tamaya.spi;
 
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -426,4 +431,90 @@ public class PropertyValueTest {
         assertThat("Object{size='3', values='{a=aVal, b.b2.b3=b3Val, c=cVal1}}").isEqualTo(n.toString());
     }
 
+    @Test
+    public void mapProperties_SharesMetaUntilChanged() {
+        Map<String, String> config = new HashMap<>();
+        config.put(new String("a"), "1");
+        config.put("b", "2");
+        Map<String, String> meta = new HashMap<>();
+        meta.put("x", "y");
+        Map<String, PropertyValue> values = PropertyValue.mapProperties(config, "test", meta);
+        PropertyValue a = values.get("a");
+        PropertyValue b = values.get("b");
+        assertThat(a.getKey()).isSameAs("a");
+        assertThat(a.getMeta()).containsEntry("source", "test").containsEntry("x", "y").hasSize(2);
+        assertThat(b.getMeta()).isEqualTo(a.getMeta());
+        int version = a.getVersion();
+        a.setMeta("x", "z");
+        assertThat(a.getVersion()).isGreaterThan(version);
+        assertThat(a.getMeta()).containsEntry("x", "z");
+        assertThat(b.getMeta()).containsEntry("x", "y");
+        b.removeMeta("source");
+        assertThat(b.getMeta()).containsOnlyKeys("x");
+        assertThat(values.get("a").getMeta()).containsEntry("source", "test");
+    }
+
+    @Test
+    public void mapProperties_Prefix() {
+        Map<String, String> config = new HashMap<>();
+        config.put("a", "1");
+        config.put("b", "2");
+        Map<String, PropertyValue> values = PropertyValue.mapProperties(config, "test", null, "p.");
+        assertThat(values).containsOnlyKeys("p.a", "p.b");
+        assertThat(values.get("p.a").getKey()).isEqualTo("p.a");
+        assertThat(values.get("p.b").getKey()).isEqualTo("p.b");
+    }
+
+    @Test
+    public void deepClone_SharesMetaUntilChanged() {
+        PropertyValue value = PropertyValue.createValue("a", "1").setMeta("x", "y");
+        PropertyValue clone = value.deepClone();
+        assertThat(clone.getMeta()).isEqualTo(value.getMeta());
+        assertThat(clone.getVersion()).isEqualTo(value.getVersion());
+        clone.setMeta("x", "z");
+        value.setMeta("v", "w");
+        assertThat(value.getMeta()).containsEntry("x", "y").containsEntry("v", "w").hasSize(2);
+        assertThat(clone.getMeta()).containsEntry("x", "z").hasSize(1);
+    }
+
+    @Test
+    public void serialization() throws Exception {
+        PropertyValue value = PropertyValue.mapProperties(Collections.singletonMap("a", "1"), "test").get("a");
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(value);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            PropertyValue read = (PropertyValue) ois.readObject();
+            assertThat(read).isEqualTo(value);
+            assertThat(read.getMeta()).isEqualTo(value.getMeta());
+            read.setMeta("x", "y");
+            assertThat(read.getMeta()).containsEntry("source", "test").containsEntry("x", "y");
+        }
+    }
+
+    @Test
+    public void createValue_SharedMetaCopiedOnWrite() {
+        PropertyValue.SharedMeta meta = PropertyValue.createSharedMeta("test");
+        PropertyValue a = PropertyValue.createValue("a", "1", meta);
+        PropertyValue b = PropertyValue.createValue("b", "2", meta);
+        assertThat(a.getMeta()).containsEntry("source", "test").hasSize(1);
+        assertThat(b.getMeta()).isEqualTo(a.getMeta());
+        a.setMeta("x", "y");
+        assertThat(a.getMeta()).containsEntry("source", "test").containsEntry("x", "y");
+        assertThat(b.getMeta()).containsEntry("source", "test").hasSize(1);
+        assertThat(meta.getMeta()).containsEntry("source", "test").hasSize(1);
+    }
+
+    @Test
+    public void createSharedMeta_Immutable() {
+        Map<String, String> entries = new HashMap<>();
+        entries.put("source", "test");
+        entries.put("timestamp", "1");
+        PropertyValue.SharedMeta meta = PropertyValue.createSharedMeta(entries);
+        entries.clear();
+        assertThat(meta.getMeta()).containsEntry("timestamp", "1").hasSize(2);
+        assertThat(meta).isEqualTo(PropertyValue.createSharedMeta(meta.getMeta()));
+        assertThat(PropertyValue.createSharedMeta(Collections.<String, String>emptyMap()).getMeta()).isEmpty();
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.benchmarks;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spi.ConfigurationBuilder;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spisupport.DefaultConfigurationBuilder;
+import org.apache.tamaya.spisupport.propertysource.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helper for creating the configurations measured by the benchmarks.
+ */
+final class BenchmarkConfigurations {
+
+    /** The system property enabling the value caches of the configuration. */
+    static final String CACHE_ENABLED_PROPERTY = "tamaya.cache.enabled";
+
+    private BenchmarkConfigurations(){}
+
+    /**
+     * Creates property sources, each with the given number of keys {@code key.0 ... key.n}. Every source
+     * defines all keys, so a lookup has to evaluate all sources.
+     * @param sourceCount the number of property sources.
+     * @param keyCount the number of keys per property source.
+     * @return the property sources, never null.
+     */
+    static List<PropertySource> createPropertySources(int sourceCount, int keyCount){
+        List<PropertySource> propertySources = new ArrayList<>(sourceCount);
+        for(int s=0;s<sourceCount;s++){
+            Map<String, String> props = new HashMap<>();
+            for(int k=0;k<keyCount;k++){
+                props.put("key." + k, "value-" + s + "-" + k);
+            }
+            MapPropertySource ps = new MapPropertySource("source-" + s, props);
+            ps.setOrdinal(s);
+            propertySources.add(ps);
+        }
+        return propertySources;
+    }
+
+    /**
+     * Creates a new builder with the default converters registered.
+     * @param caching true to enable the value caches.
+     * @return a new builder, never null.
+     */
+    static ConfigurationBuilder builder(boolean caching){
+        System.setProperty(CACHE_ENABLED_PROPERTY, String.valueOf(caching));
+        return new DefaultConfigurationBuilder().addDefaultPropertyConverters();
+    }
+
+    /**
+     * Builds the configuration, resetting the caching flag afterwards.
+     * @param builder the builder, not null.
+     * @return the configuration, never null.
+     */
+    static Configuration build(ConfigurationBuilder builder){
+        try{
+            return builder.build();
+        }finally{
+            System.clearProperty(CACHE_ENABLED_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.benchmarks;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spisupport.propertysource.MapPropertySource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single value lookups, depending on the number of property sources.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationGetBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int sourceCount;
+
+    @Param({"false", "true"})
+    public boolean caching;
+
+    private Configuration config;
+
+    @Setup
+    public void setup(){
+        config = BenchmarkConfigurations.build(BenchmarkConfigurations.builder(caching)
+                .addPropertySources(BenchmarkConfigurations.createPropertySources(sourceCount, 100))
+                .addPropertySources(new MapPropertySource("numbers", Collections.singletonMap("number", "42"))));
+    }
+
+    @Benchmark
+    public String get(){
+        return config.get("key.50");
+    }
+
+    @Benchmark
+    public String getMissing(){
+        return config.get("missing");
+    }
+
+    @Benchmark
+    public Integer getTyped(){
+        return config.get("number", Integer.class);
+    }
+}
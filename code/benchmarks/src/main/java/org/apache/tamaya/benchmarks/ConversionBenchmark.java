@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.benchmarks;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spisupport.propertysource.MapPropertySource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures typed lookups for the most common target types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    /** Enum type used for the enum conversion. */
+    public enum Level {
+        LOW, MEDIUM, HIGH
+    }
+
+    @Param({"false", "true"})
+    public boolean caching;
+
+    private Configuration config;
+
+    @Setup
+    public void setup(){
+        Map<String, String> props = new HashMap<>();
+        props.put("integer", "12345");
+        props.put("double", "123.45");
+        props.put("duration", "PT15M");
+        props.put("enum", "MEDIUM");
+        props.put("url", "http://tamaya.incubator.apache.org/");
+        config = BenchmarkConfigurations.build(BenchmarkConfigurations.builder(caching)
+                .addPropertySources(new MapPropertySource("conversion", props)));
+    }
+
+    @Benchmark
+    public Integer integer(){
+        return config.get("integer", Integer.class);
+    }
+
+    @Benchmark
+    public Double doubleValue(){
+        return config.get("double", Double.class);
+    }
+
+    @Benchmark
+    public Duration duration(){
+        return config.get("duration", Duration.class);
+    }
+
+    @Benchmark
+    public Level enumValue(){
+        return config.get("enum", Level.class);
+    }
+
+    @Benchmark
+    public URL url(){
+        return config.get("url", URL.class);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.benchmarks;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spi.ConfigurationBuilder;
+import org.apache.tamaya.spi.FilterContext;
+import org.apache.tamaya.spi.PropertyFilter;
+import org.apache.tamaya.spi.PropertyValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single value lookups, depending on the number of property filters registered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterChainBenchmark {
+
+    @Param({"0", "1", "5", "20"})
+    public int filterCount;
+
+    @Param({"10", "1000"})
+    public int keyCount;
+
+    private Configuration config;
+
+    @Setup
+    public void setup(){
+        ConfigurationBuilder builder = BenchmarkConfigurations.builder(false)
+                .addPropertySources(BenchmarkConfigurations.createPropertySources(1, keyCount));
+        for(int i=0;i<filterCount;i++){
+            builder.addPropertyFilters(new PassThroughFilter("filtered." + i));
+        }
+        config = BenchmarkConfigurations.build(builder);
+    }
+
+    @Benchmark
+    public String get(){
+        return config.get("key.5");
+    }
+
+    /**
+     * Filter, which does not change any value, but checks the key as most filters do.
+     */
+    private static final class PassThroughFilter implements PropertyFilter{
+
+        private final String key;
+
+        PassThroughFilter(String key){
+            this.key = key;
+        }
+
+        @Override
+        public PropertyValue filterProperty(PropertyValue value, FilterContext context) {
+            if(key.equals(value.getKey())){
+                return null;
+            }
+            return value;
+        }
+    }
+}
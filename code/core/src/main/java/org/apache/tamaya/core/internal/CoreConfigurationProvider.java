@@ -22,10 +22,16 @@ import org.apache.tamaya.Configuration;
 import org.apache.tamaya.spi.ConfigurationContext;
 import org.apache.tamaya.spi.ConfigurationBuilder;
 import org.apache.tamaya.spi.ConfigurationProviderSpi;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spisupport.FileWatcher;
+import org.apache.tamaya.spisupport.ReloadScheduler;
 import org.osgi.service.component.annotations.Component;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
@@ -89,7 +95,32 @@ public class CoreConfigurationProvider implements ConfigurationProviderSpi {
     @Override
     public Configuration releaseConfiguration(ClassLoader classloader) {
         LOG.info("Releasing config for classloader: " + classloader);
-        return this.configurations.remove(classloader);
+        Configuration released = this.configurations.remove(classloader);
+        if(released!=null){
+            cancelReloadChecks(released);
+        }
+        return released;
+    }
+
+    /**
+     * Cancels the reload checks and file watches of all property sources of the released configuration, which
+     * are not used by any other configuration managed. If no checks remain, the reload threads are stopped.
+     * @param released the released configuration, not null.
+     */
+    private void cancelReloadChecks(Configuration released) {
+        Set<PropertySource> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+        for(Configuration config:this.configurations.values()){
+            inUse.addAll(config.getContext().getPropertySources());
+        }
+        for(PropertySource ps:released.getContext().getPropertySources()){
+            if(!inUse.contains(ps)){
+                ReloadScheduler.cancel(ps);
+                FileWatcher.cancel(ps);
+            }
+        }
+        if(ReloadScheduler.getTaskCount()==0){
+            ReloadScheduler.shutdown();
+        }
     }
 
     @Override
@@ -19,8 +19,15 @@
 package org.apache.tamaya.core.internal;
 
 import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spisupport.ReloadScheduler;
+import org.apache.tamaya.spisupport.propertysource.BuildablePropertySource;
 import org.junit.Test;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
@@ -69,5 +76,15 @@ public class CoreConfigurationProviderTest {
         )).isTrue();
     }
 
+    @Test
+    public void releaseConfiguration_CancelsReloadChecks() throws Exception {
+        CoreConfigurationProvider provider = new CoreConfigurationProvider();
+        ClassLoader classLoader = new URLClassLoader(new URL[0], getClass().getClassLoader());
+        PropertySource ps = BuildablePropertySource.builder().withName("reloaded").build();
+        provider.setConfiguration(new CoreConfigurationBuilder().addPropertySources(ps).build(), classLoader);
+        ReloadScheduler.Task task = ReloadScheduler.schedule(ps, () -> false, 1, 1, TimeUnit.HOURS);
+        assertThat(provider.releaseConfiguration(classLoader)).isNotNull();
+        assertThat(task.isCancelled()).isTrue();
+    }
 
 }
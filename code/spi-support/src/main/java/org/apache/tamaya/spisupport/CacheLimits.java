@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounds the caches, which memoize results by the keys looked up, e.g. the property sources and filters by key.
+ * Since the keys looked up are chosen by the callers, such a cache could otherwise grow without limit, when
+ * arbitrary or generated keys are looked up.
+ *
+ * <p>Each cache holds at most {@code tamaya.cache.maxKeys} keys (system property or environment variable,
+ * default {@value #DEFAULT_MAX_KEYS}). When a key is added to a full cache, the cache is cleared first and
+ * filled again by the following lookups. So a changing set of keys is cached again, at the cost of evaluating
+ * the keys still used once more. A value less than or equal to zero disables these caches.</p>
+ */
+public final class CacheLimits {
+
+    private static final Logger LOG = Logger.getLogger(CacheLimits.class.getName());
+
+    /** Property (or environment variable) defining the maximal number of keys per cache. */
+    public static final String MAX_KEYS_PROPERTY = "tamaya.cache.maxKeys";
+    /** The default maximal number of keys per cache. */
+    public static final int DEFAULT_MAX_KEYS = 10_000;
+
+    private static final int MAX_KEYS = loadMaxKeys();
+
+    private CacheLimits(){}
+
+    /**
+     * Get the maximal number of keys per cache.
+     * @return the maximal number of keys, zero or less, if caching by key is disabled.
+     */
+    public static int getMaxKeys(){
+        return MAX_KEYS;
+    }
+
+    /**
+     * Adds an entry to a cache, clearing the cache first, if it is full.
+     * @param cache the cache, not null.
+     * @param key the key, not null.
+     * @param value the value, not null.
+     * @param <K> the key type.
+     * @param <V> the value type.
+     */
+    public static <K, V> void put(Map<K, V> cache, K key, V value){
+        if(MAX_KEYS<=0){
+            return;
+        }
+        if(cache.size() >= MAX_KEYS){
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+
+    private static int loadMaxKeys(){
+        String value = System.getProperty(MAX_KEYS_PROPERTY);
+        if(value==null){
+            value = System.getenv(MAX_KEYS_PROPERTY);
+        }
+        if(value!=null && !value.isEmpty()){
+            try{
+                return Integer.parseInt(value.trim());
+            }catch(NumberFormatException e){
+                LOG.log(Level.WARNING, "Invalid " + MAX_KEYS_PROPERTY + " value, using default: " + value, e);
+            }
+        }
+        return DEFAULT_MAX_KEYS;
+    }
+}
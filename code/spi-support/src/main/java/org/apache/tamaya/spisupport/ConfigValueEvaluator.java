@@ -55,7 +55,7 @@ public interface ConfigValueEvaluator {
      */
     default List<PropertyValue> evaluateAllValues(String key, ConfigurationContext context){
         List<PropertyValue> result = new ArrayList<>();
-        for(PropertySource ps:context.getPropertySources()){
+        for(PropertySource ps:PropertySourceIndex.getPropertySources(context, key)){
             try{
                 PropertyValue val = ps.get(key);
                 if(val!=null){
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.spi.PropertyValue;
+
+/**
+ * Optional SPI for observing the configuration lookups of {@link DefaultConfiguration}. An instrumentation is
+ * enabled by registering it as service, e.g. in
+ * {@code META-INF/services/org.apache.tamaya.spisupport.ConfigurationInstrumentation}. If no instrumentation is
+ * registered, the lookups are not instrumented at all. {@link ConfigurationMetrics} provides an implementation
+ * collecting counts and latencies.
+ *
+ * <p>The methods are called synchronously on the lookup paths, so implementations must be thread safe and
+ * should return as fast as possible.</p>
+ */
+public interface ConfigurationInstrumentation {
+
+    /**
+     * Called after a single value has been evaluated from the property sources.
+     * @param key the key, not null.
+     * @param value the most significant raw value found, or {@code null}, if no value has been found.
+     * @param nanos the time spent for evaluating the value, in nanoseconds.
+     */
+    default void valueEvaluated(String key, PropertyValue value, long nanos){}
+
+    /**
+     * Called after a single value or value list has been returned from the cache of resolved values, so the
+     * property sources have not been evaluated, see {@code tamaya.cache.enabled}.
+     * @param key the key, not null.
+     * @param found true, if a value has been found.
+     * @param nanos the time spent for the cache lookup, in nanoseconds.
+     */
+    default void cachedValueReturned(String key, boolean found, long nanos){}
+
+    /**
+     * Called after the filters have been applied to a value.
+     * @param key the key, not null.
+     * @param loops the number of loops over all filters performed until the value did not change anymore.
+     */
+    default void valueFiltered(String key, int loops){}
+
+    /**
+     * Called after a value has been converted.
+     * @param key the key, not null.
+     * @param type the target type, not null.
+     * @param failed true, if the value could not be converted.
+     * @param nanos the time spent for converting the value, in nanoseconds.
+     */
+    default void valueConverted(String key, TypeLiteral<?> type, boolean failed, long nanos){}
+
+}
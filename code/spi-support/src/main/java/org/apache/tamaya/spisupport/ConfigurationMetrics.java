@@ -0,0 +1,393 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.spi.PropertyValue;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link ConfigurationInstrumentation} collecting lookup, filter and conversion metrics. The metrics can be
+ * accessed by {@link #snapshot()} or as MBean, see {@link ConfigurationMetricsMXBean}. Counters are
+ * {@link LongAdder}s, so recording a lookup does not contend with other threads.
+ *
+ * <p>The MBean is registered automatically, if the system or environment property {@code tamaya.metrics.jmx}
+ * is {@code true}, otherwise it can be registered by calling {@link #registerMBean()}.</p>
+ *
+ * <p>Per key counts are recorded for at most {@value #MAX_KEYS} keys, lookups of further keys are only counted
+ * in total.</p>
+ *
+ * <p>Lookups answered by the cache of resolved values are counted as lookups and hits as well, but are not
+ * attributed to a property source, since the cache does not keep the raw values.</p>
+ */
+public class ConfigurationMetrics implements ConfigurationInstrumentation, ConfigurationMetricsMXBean {
+
+    private static final Logger LOG = Logger.getLogger(ConfigurationMetrics.class.getName());
+
+    /** The system or environment property to register the MBean automatically. */
+    public static final String JMX_PROPERTY = "tamaya.metrics.jmx";
+
+    /** The maximal number of keys and property sources tracked. */
+    public static final int MAX_KEYS = 10_000;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder filters = new LongAdder();
+    private final LongAdder filterLoops = new LongAdder();
+    private final LongAdder conversions = new LongAdder();
+    private final LongAdder conversionFailures = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> keyLookups = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> sourceHits = new ConcurrentHashMap<>();
+    private final LatencyHistogram lookupLatency = new LatencyHistogram();
+    private final LatencyHistogram conversionLatency = new LatencyHistogram();
+    private volatile ObjectName objectName;
+
+    /**
+     * Creates a new instance, registering the MBean, if enabled.
+     */
+    public ConfigurationMetrics(){
+        String value = System.getProperty(JMX_PROPERTY);
+        if(value==null){
+            value = System.getenv(JMX_PROPERTY);
+        }
+        if(Boolean.parseBoolean(value)){
+            try {
+                registerMBean();
+            } catch (JMException e) {
+                LOG.log(Level.WARNING, "Failed to register configuration metrics MBean.", e);
+            }
+        }
+    }
+
+    @Override
+    public void valueEvaluated(String key, PropertyValue value, long nanos) {
+        lookups.increment();
+        lookupLatency.record(nanos);
+        count(keyLookups, key);
+        if(value!=null){
+            hits.increment();
+            String source = value.getMeta("source");
+            if(source!=null){
+                count(sourceHits, source);
+            }
+        }
+    }
+
+    @Override
+    public void cachedValueReturned(String key, boolean found, long nanos) {
+        lookups.increment();
+        lookupLatency.record(nanos);
+        count(keyLookups, key);
+        if(found){
+            hits.increment();
+        }
+    }
+
+    @Override
+    public void valueFiltered(String key, int loops) {
+        filters.increment();
+        filterLoops.add(loops);
+    }
+
+    @Override
+    public void valueConverted(String key, TypeLiteral<?> type, boolean failed, long nanos) {
+        conversions.increment();
+        conversionLatency.record(nanos);
+        if(failed){
+            conversionFailures.increment();
+        }
+    }
+
+    private static void count(ConcurrentHashMap<String, LongAdder> counts, String key){
+        LongAdder counter = counts.get(key);
+        if(counter==null){
+            if(counts.size() >= MAX_KEYS){
+                return;
+            }
+            counter = counts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    @Override
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return Math.max(0, lookups.sum() - hits.sum());
+    }
+
+    @Override
+    public double getHitRatio() {
+        long total = lookups.sum();
+        if(total==0){
+            return 0;
+        }
+        return Math.min(1.0, (double)hits.sum() / total);
+    }
+
+    @Override
+    public long getFilterCount() {
+        return filters.sum();
+    }
+
+    @Override
+    public long getFilterLoopCount() {
+        return filterLoops.sum();
+    }
+
+    @Override
+    public long getConversionCount() {
+        return conversions.sum();
+    }
+
+    @Override
+    public long getConversionFailureCount() {
+        return conversionFailures.sum();
+    }
+
+    @Override
+    public Map<String, Long> getKeyLookupCounts() {
+        return toMap(keyLookups);
+    }
+
+    @Override
+    public Map<String, Long> getSourceHitCounts() {
+        return toMap(sourceHits);
+    }
+
+    private static Map<String, Long> toMap(Map<String, LongAdder> counts){
+        Map<String, Long> result = new HashMap<>();
+        for(Map.Entry<String, LongAdder> en:counts.entrySet()){
+            result.put(en.getKey(), en.getValue().sum());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public long[] getLookupLatencyHistogram() {
+        return lookupLatency.getCounts();
+    }
+
+    @Override
+    public long[] getConversionLatencyHistogram() {
+        return conversionLatency.getCounts();
+    }
+
+    @Override
+    public void reset() {
+        lookups.reset();
+        hits.reset();
+        filters.reset();
+        filterLoops.reset();
+        conversions.reset();
+        conversionFailures.reset();
+        keyLookups.clear();
+        sourceHits.clear();
+        lookupLatency.reset();
+        conversionLatency.reset();
+    }
+
+    /**
+     * Creates a snapshot of the current metrics.
+     * @return the snapshot, never null.
+     */
+    public Snapshot snapshot(){
+        return new Snapshot(this);
+    }
+
+    /**
+     * Registers this instance at the platform MBean server, if not yet registered.
+     * @return the object name, never null.
+     * @throws JMException if the registration failed.
+     */
+    public synchronized ObjectName registerMBean() throws JMException {
+        if(objectName==null){
+            ObjectName name = new ObjectName("org.apache.tamaya:type=ConfigurationMetrics,id="
+                    + Integer.toHexString(System.identityHashCode(this)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        }
+        return objectName;
+    }
+
+    /**
+     * Unregisters this instance from the platform MBean server, if registered.
+     * @throws JMException if the unregistration failed.
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if(objectName!=null){
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if(server.isRegistered(objectName)){
+                server.unregisterMBean(objectName);
+            }
+            objectName = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationMetrics{" +
+                "lookups=" + lookups.sum() +
+                ", hits=" + hits.sum() +
+                ", conversions=" + conversions.sum() +
+                ", conversionFailures=" + conversionFailures.sum() +
+                '}';
+    }
+
+    /**
+     * Histogram with buckets for powers of two.
+     */
+    private static final class LatencyHistogram {
+
+        private final LongAdder[] buckets = new LongAdder[64];
+
+        LatencyHistogram(){
+            for(int i=0;i<buckets.length;i++){
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos){
+            buckets[nanos<=0?0:64 - Long.numberOfLeadingZeros(nanos)].increment();
+        }
+
+        long[] getCounts(){
+            long[] counts = new long[buckets.length];
+            for(int i=0;i<buckets.length;i++){
+                counts[i] = buckets[i].sum();
+            }
+            return counts;
+        }
+
+        void reset(){
+            for(LongAdder bucket:buckets){
+                bucket.reset();
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of the metrics.
+     */
+    public static final class Snapshot {
+
+        private final long lookupCount;
+        private final long hitCount;
+        private final long filterCount;
+        private final long filterLoopCount;
+        private final long conversionCount;
+        private final long conversionFailureCount;
+        private final Map<String, Long> keyLookupCounts;
+        private final Map<String, Long> sourceHitCounts;
+        private final long[] lookupLatencyHistogram;
+        private final long[] conversionLatencyHistogram;
+
+        private Snapshot(ConfigurationMetrics metrics){
+            this.lookupCount = metrics.getLookupCount();
+            this.hitCount = Math.min(lookupCount, metrics.getHitCount());
+            this.filterCount = metrics.getFilterCount();
+            this.filterLoopCount = metrics.getFilterLoopCount();
+            this.conversionCount = metrics.getConversionCount();
+            this.conversionFailureCount = metrics.getConversionFailureCount();
+            this.keyLookupCounts = metrics.getKeyLookupCounts();
+            this.sourceHitCounts = metrics.getSourceHitCounts();
+            this.lookupLatencyHistogram = metrics.getLookupLatencyHistogram();
+            this.conversionLatencyHistogram = metrics.getConversionLatencyHistogram();
+        }
+
+        public long getLookupCount() {
+            return lookupCount;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return lookupCount - hitCount;
+        }
+
+        public double getHitRatio() {
+            return lookupCount==0?0:(double)hitCount / lookupCount;
+        }
+
+        public long getFilterCount() {
+            return filterCount;
+        }
+
+        public long getFilterLoopCount() {
+            return filterLoopCount;
+        }
+
+        public long getConversionCount() {
+            return conversionCount;
+        }
+
+        public long getConversionFailureCount() {
+            return conversionFailureCount;
+        }
+
+        public Map<String, Long> getKeyLookupCounts() {
+            return keyLookupCounts;
+        }
+
+        public Map<String, Long> getSourceHitCounts() {
+            return sourceHitCounts;
+        }
+
+        public long[] getLookupLatencyHistogram() {
+            return lookupLatencyHistogram.clone();
+        }
+
+        public long[] getConversionLatencyHistogram() {
+            return conversionLatencyHistogram.clone();
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "lookupCount=" + lookupCount +
+                    ", hitCount=" + hitCount +
+                    ", filterCount=" + filterCount +
+                    ", filterLoopCount=" + filterLoopCount +
+                    ", conversionCount=" + conversionCount +
+                    ", conversionFailureCount=" + conversionFailureCount +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link ConfigurationMetrics}. Latency histograms are returned as arrays of counts,
+ * where the count at index {@code i} covers the latencies from {@code 2^(i-1)} (inclusive) to {@code 2^i}
+ * (exclusive) nanoseconds.
+ */
+public interface ConfigurationMetricsMXBean {
+
+    /**
+     * Get the number of single value lookups.
+     * @return the number of lookups.
+     */
+    long getLookupCount();
+
+    /**
+     * Get the number of single value lookups, which found a value.
+     * @return the number of hits.
+     */
+    long getHitCount();
+
+    /**
+     * Get the number of single value lookups, which did not find any value.
+     * @return the number of misses.
+     */
+    long getMissCount();
+
+    /**
+     * Get the ratio of lookups finding a value.
+     * @return the ratio between 0 and 1, or 0, if no lookups have been performed.
+     */
+    double getHitRatio();
+
+    /**
+     * Get the number of values filtered.
+     * @return the number of values filtered.
+     */
+    long getFilterCount();
+
+    /**
+     * Get the number of filter loops performed for all values filtered.
+     * @return the number of filter loops.
+     */
+    long getFilterLoopCount();
+
+    /**
+     * Get the number of typed conversions.
+     * @return the number of conversions.
+     */
+    long getConversionCount();
+
+    /**
+     * Get the number of typed conversions failed.
+     * @return the number of failures.
+     */
+    long getConversionFailureCount();
+
+    /**
+     * Get the lookup counts by key.
+     * @return the counts by key, never null.
+     */
+    Map<String, Long> getKeyLookupCounts();
+
+    /**
+     * Get the number of values provided by each property source.
+     * @return the counts by property source name, never null.
+     */
+    Map<String, Long> getSourceHitCounts();
+
+    /**
+     * Get the lookup latency histogram.
+     * @return the counts by latency range, never null.
+     */
+    long[] getLookupLatencyHistogram();
+
+    /**
+     * Get the conversion latency histogram.
+     * @return the counts by latency range, never null.
+     */
+    long[] getConversionLatencyHistogram();
+
+    /**
+     * Resets all metrics.
+     */
+    void reset();
+}
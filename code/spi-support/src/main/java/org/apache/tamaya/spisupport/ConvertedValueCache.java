@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Memoizes the results of type conversions per key and target type. An entry is only valid as long as the
+ * property values it was converted from are the same instances with the same
+ * {@link PropertyValue#getVersion()}, so repeated reads of unchanged values neither run the converter chain
+ * nor create a new {@link org.apache.tamaya.spi.ConversionContext}.
+ *
+ * <p>Only results of well known immutable types are memoized, since the same instance is returned to all
+ * callers. Memoization is enabled together with value caching, using the {@code tamaya.cache.enabled} system or
+ * environment property.</p>
+ */
+final class ConvertedValueCache {
+
+    /** Marker returned, if no valid cache entry is present. */
+    static final Object MISS = new Object();
+
+    /** Result types, which are known to be immutable. */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class,
+            Duration.class, Period.class, Instant.class, LocalDate.class, LocalTime.class, LocalDateTime.class,
+            OffsetTime.class, OffsetDateTime.class, ZonedDateTime.class, Year.class, YearMonth.class,
+            MonthDay.class, URI.class, URL.class, File.class, Currency.class, Locale.class, UUID.class, Class.class));
+
+    /** The cached entries, by target type and key. */
+    private final ConcurrentHashMap<TypeLiteral<?>, ConcurrentHashMap<String, Entry>> entries =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new memoization cache, if caching is enabled.
+     * @return the new cache, or {@code null}.
+     */
+    static ConvertedValueCache of(){
+        String value = System.getProperty(ResolvedValueCache.ENABLED_PROPERTY);
+        if(value==null){
+            value = System.getenv(ResolvedValueCache.ENABLED_PROPERTY);
+        }
+        if(Boolean.parseBoolean(value)){
+            return new ConvertedValueCache();
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the given result can be memoized.
+     * @param result the conversion result, may be null.
+     * @return true, if the result is of an immutable type.
+     */
+    static boolean isMemoizable(Object result){
+        if(result==null){
+            return false;
+        }
+        Class<?> type = result.getClass();
+        return IMMUTABLE_TYPES.contains(type) || type.isEnum() || result instanceof Enum || result instanceof Path;
+    }
+
+    /**
+     * Access a memoized value.
+     * @param key the key, not null.
+     * @param type the target type, not null.
+     * @param values the current property values, the result was converted from, not null.
+     * @return the memoized value, or {@link #MISS}.
+     */
+    Object get(String key, TypeLiteral<?> type, List<PropertyValue> values){
+        Map<String, Entry> typeEntries = entries.get(type);
+        if(typeEntries==null){
+            return MISS;
+        }
+        Entry entry = typeEntries.get(key);
+        if(entry==null || !entry.matches(values)){
+            return MISS;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Memoizes a conversion result, if its type is immutable.
+     * @param key the key, not null.
+     * @param type the target type, not null.
+     * @param values the property values, the result was converted from, not null.
+     * @param value the conversion result.
+     */
+    void put(String key, TypeLiteral<?> type, List<PropertyValue> values, Object value){
+        if(isMemoizable(value)){
+            entries.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                    .put(key, new Entry(values, value));
+        }
+    }
+
+    /**
+     * Removes all memoized values.
+     */
+    void clear(){
+        entries.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "ConvertedValueCache{" +
+                "types=" + entries.keySet() +
+                '}';
+    }
+
+    /**
+     * A memoized value, with the identities and versions of the values it was converted from.
+     */
+    private static final class Entry{
+        private final PropertyValue[] sourceValues;
+        private final int[] sourceVersions;
+        private final Object value;
+
+        Entry(List<PropertyValue> values, Object value){
+            this.sourceValues = values.toArray(new PropertyValue[values.size()]);
+            this.sourceVersions = new int[sourceValues.length];
+            for(int i=0;i<sourceValues.length;i++){
+                sourceVersions[i] = sourceValues[i].getVersion();
+            }
+            this.value = value;
+        }
+
+        boolean matches(List<PropertyValue> values){
+            if(values.size()!=sourceValues.length){
+                return false;
+            }
+            for(int i=0;i<sourceValues.length;i++){
+                PropertyValue val = values.get(i);
+                if(val!=sourceValues[i] || val.getVersion()!=sourceVersions[i]){
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
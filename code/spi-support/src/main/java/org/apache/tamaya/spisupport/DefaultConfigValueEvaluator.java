@@ -37,7 +37,7 @@ public class DefaultConfigValueEvaluator implements ConfigValueEvaluator{
     @Override
     public PropertyValue evaluateRawValue(String key, ConfigurationContext context) {
         PropertyValue unfilteredValue = null;
-        for (PropertySource propertySource : context.getPropertySources()) {
+        for (PropertySource propertySource : PropertySourceIndex.getPropertySources(context, key)) {
             PropertyValue val = propertySource.get(key);
             if(val!=null){
                 unfilteredValue = val;
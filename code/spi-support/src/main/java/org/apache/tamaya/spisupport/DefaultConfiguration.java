@@ -41,6 +41,11 @@ import java.util.logging.Logger;
  * Implementation of the Configuration API. This class uses the current {@link ConfigurationContext} to evaluate the
  * chain of {@link org.apache.tamaya.spi.PropertySource} and {@link org.apache.tamaya.spi.PropertyFilter}
  * instances to evaluate the current Configuration.
+ *
+ * <p>Resolved values can optionally be cached by setting the {@code tamaya.cache.enabled} system or environment
+ * property to {@code true}. The cache is invalidated whenever one of the property sources reports a change, so
+ * it is only active if all property sources are either {@link org.apache.tamaya.spi.ChangeSupport#IMMUTABLE}
+ * or {@link org.apache.tamaya.spi.ChangeSupport#SUPPORTED}.</p>
  */
 public class DefaultConfiguration implements Configuration, Serializable {
     /**
@@ -58,6 +63,16 @@ public class DefaultConfiguration implements Configuration, Serializable {
      */
     private transient ConfigValueEvaluator configEvaluator;
 
+    /**
+     * The cache of resolved values, or {@code null}, if caching is not enabled.
+     */
+    private transient ResolvedValueCache valueCache;
+
+    /**
+     * The memoized conversion results, or {@code null}, if caching is not enabled.
+     */
+    private transient ConvertedValueCache convertedValueCache;
+
 
     private ConfigValueEvaluator loadConfigValueEvaluator() {
         ConfigValueEvaluator eval = null;
@@ -70,6 +85,11 @@ public class DefaultConfiguration implements Configuration, Serializable {
         if(eval==null){
             eval = new DefaultConfigValueEvaluator();
         }
+        ConfigurationInstrumentation instrumentation =
+                DefaultConfigurationContext.getInstrumentation(configurationContext);
+        if(instrumentation!=null){
+            eval = new InstrumentedConfigValueEvaluator(eval, instrumentation);
+        }
         return eval;
     }
 
@@ -81,6 +101,8 @@ public class DefaultConfiguration implements Configuration, Serializable {
     public DefaultConfiguration(ConfigurationContext configurationContext){
         this.configurationContext = Objects.requireNonNull(configurationContext);
         this.configEvaluator = loadConfigValueEvaluator();
+        this.valueCache = ResolvedValueCache.of(configurationContext);
+        this.convertedValueCache = ConvertedValueCache.of();
     }
 
     /**
@@ -91,7 +113,27 @@ public class DefaultConfiguration implements Configuration, Serializable {
     @Override
     public String get(String key) {
         Objects.requireNonNull(key, "Key must not be null.");
+        ResolvedValueCache cache = this.valueCache;
+        if(cache==null){
+            return evaluateValue(key);
+        }
+        ConfigurationInstrumentation instrumentation =
+                DefaultConfigurationContext.getInstrumentation(configurationContext);
+        long start = instrumentation==null?0:System.nanoTime();
+        Object cached = cache.getValue(key);
+        if(cached!=ResolvedValueCache.MISS){
+            if(instrumentation!=null){
+                instrumentation.cachedValueReturned(key, cached!=null, System.nanoTime() - start);
+            }
+            return (String)cached;
+        }
+        long generation = cache.getGeneration();
+        String value = evaluateValue(key);
+        cache.putValue(key, value, generation);
+        return value;
+    }
 
+    private String evaluateValue(String key) {
         PropertyValue value = configEvaluator.evaluateRawValue(key, configurationContext);
         if(value==null || value.getValue()==null){
             return null;
@@ -108,9 +150,35 @@ public class DefaultConfiguration implements Configuration, Serializable {
      * @param key the property's key, not null.
      * @return the filtered createValue, or null.
      */
+    @SuppressWarnings("unchecked")
     public List<PropertyValue> getValues(String key) {
         Objects.requireNonNull(key, "Key must not be null.");
+        ResolvedValueCache cache = this.valueCache;
+        if(cache==null){
+            return evaluateValues(key);
+        }
+        ConfigurationInstrumentation instrumentation =
+                DefaultConfigurationContext.getInstrumentation(configurationContext);
+        long start = instrumentation==null?0:System.nanoTime();
+        Object cached = cache.getValues(key);
+        if(cached!=ResolvedValueCache.MISS){
+            List<PropertyValue> values = (List<PropertyValue>)cached;
+            if(instrumentation!=null){
+                instrumentation.cachedValueReturned(key, values!=null && !values.isEmpty(),
+                        System.nanoTime() - start);
+            }
+            return values;
+        }
+        long generation = cache.getGeneration();
+        List<PropertyValue> values = evaluateValues(key);
+        if(values!=null){
+            values = Collections.unmodifiableList(values);
+        }
+        cache.putValues(key, values, generation);
+        return values;
+    }
 
+    private List<PropertyValue> evaluateValues(String key) {
         List<PropertyValue> value = configEvaluator.evaluateAllValues(key, configurationContext);
         if(value==null || value.isEmpty()){
             return Collections.emptyList();
@@ -160,12 +228,17 @@ public class DefaultConfiguration implements Configuration, Serializable {
 
     /**
      * Get the current properties, composed by the loaded {@link org.apache.tamaya.spi.PropertySource} and filtered
-     * by registered {@link org.apache.tamaya.spi.PropertyFilter}.
+     * by registered {@link org.apache.tamaya.spi.PropertyFilter}. If caching is enabled, the properties are
+     * maintained incrementally and returned as immutable map.
      *
      * @return the final properties.
      */
     @Override
     public Map<String, String> getProperties() {
+        ResolvedValueCache cache = this.valueCache;
+        if(cache!=null){
+            return cache.getProperties(configEvaluator);
+        }
         Map<String, PropertyValue> filtered = PropertyFiltering.applyFilters(
                 configEvaluator.evaluateRawValues(configurationContext),
                 configurationContext);
@@ -206,16 +279,45 @@ public class DefaultConfiguration implements Configuration, Serializable {
      * @param <T>  the createValue type
      * @return the converted createValue, never {@code null}.
      */
+    @SuppressWarnings("unchecked")
     @Override
     public <T> T get(String key, TypeLiteral<T> type) {
         Objects.requireNonNull(key, "Key must not be null.");
         Objects.requireNonNull(type, "Target type must not be null");
 
-        return convertValue(key, getValues(key), type);
+        List<PropertyValue> values = getValues(key);
+        ConvertedValueCache cache = this.convertedValueCache;
+        if(cache==null || values==null || values.isEmpty()){
+            return convertValue(key, values, type);
+        }
+        Object cached = cache.get(key, type, values);
+        if(cached!=ConvertedValueCache.MISS){
+            return (T)cached;
+        }
+        T value = convertValue(key, values, type);
+        cache.put(key, type, values, value);
+        return value;
     }
 
-    @SuppressWarnings("unchecked")
     protected <T> T convertValue(String key, List<PropertyValue> values, TypeLiteral<T> type) {
+        ConfigurationInstrumentation instrumentation =
+                DefaultConfigurationContext.getInstrumentation(configurationContext);
+        if(instrumentation==null || values == null || values.isEmpty()){
+            return doConvertValue(key, values, type);
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try{
+            T value = doConvertValue(key, values, type);
+            failed = false;
+            return value;
+        }finally{
+            instrumentation.valueConverted(key, type, failed, System.nanoTime() - start);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T doConvertValue(String key, List<PropertyValue> values, TypeLiteral<T> type) {
         if (values != null && !values.isEmpty()) {
             List<PropertyConverter<T>> converters = configurationContext.getPropertyConverters(type);
             ConversionContext context = new ConversionContext.Builder(this, key, type)
@@ -309,6 +411,8 @@ public class DefaultConfiguration implements Configuration, Serializable {
     private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
         configurationContext = (ConfigurationContext)ois.readObject();
         configEvaluator = loadConfigValueEvaluator();
+        valueCache = ResolvedValueCache.of(configurationContext);
+        convertedValueCache = ConvertedValueCache.of();
     }
 
     private void writeObject(ObjectOutputStream oos) throws IOException {
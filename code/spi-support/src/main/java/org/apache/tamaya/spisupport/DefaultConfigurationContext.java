@@ -33,6 +33,7 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -64,6 +65,15 @@ public class DefaultConfigurationContext implements ConfigurationContext, Serial
     /** The corresponding classLoader for this instance. */
     private ServiceContext serviceContext;
 
+    /** The index of property sources by key, or {@code null}, if not enabled. */
+    private PropertySourceIndex propertySourceIndex;
+
+    /** The index of property filters by key, or {@code null}, if all filters apply to all keys. */
+    private PropertyFilterIndex propertyFilterIndex;
+
+    /** The instrumentation registered, or {@code null}. */
+    private ConfigurationInstrumentation instrumentation;
+
 
     /**
      * Lock for internal synchronization.
@@ -81,10 +91,13 @@ public class DefaultConfigurationContext implements ConfigurationContext, Serial
         propertySources.addAll(builder.propertySources);
         // now sort them according to their ordinal values
         immutablePropertySources = Collections.unmodifiableList(propertySources);
+        propertySourceIndex = PropertySourceIndex.of(immutablePropertySources);
+        instrumentation = loadInstrumentation(serviceContext);
 
         // as next step we pick up the PropertyFilters pretty much the same way
         List<PropertyFilter> propertyFilters = new ArrayList<>(builder.getPropertyFilters());
         immutablePropertyFilters = Collections.unmodifiableList(propertyFilters);
+        propertyFilterIndex = PropertyFilterIndex.of(immutablePropertyFilters);
 
         // Finally addPropertyValue the converters
         for(Map.Entry<TypeLiteral<?>, List<PropertyConverter<?>>> en:builder.getPropertyConverter().entrySet()) {
@@ -102,7 +115,10 @@ public class DefaultConfigurationContext implements ConfigurationContext, Serial
                                        MetadataProvider metaDataProvider) {
         this.serviceContext = Objects.requireNonNull(serviceContext);
         this.immutablePropertyFilters = Collections.unmodifiableList(new ArrayList<>(propertyFilters));
+        this.propertyFilterIndex = PropertyFilterIndex.of(immutablePropertyFilters);
         this.immutablePropertySources = Collections.unmodifiableList(new ArrayList<>(propertySources));
+        this.propertySourceIndex = PropertySourceIndex.of(immutablePropertySources);
+        this.instrumentation = loadInstrumentation(serviceContext);
         this.metaDataProvider = Objects.requireNonNull(metaDataProvider);
         this.metaDataProvider.init(this);
         propertyConverterManager = new PropertyConverterManager(serviceContext);
@@ -250,6 +266,56 @@ public class DefaultConfigurationContext implements ConfigurationContext, Serial
         return immutablePropertySources;
     }
 
+    /**
+     * Get the property sources, which must be evaluated for the given key. Property sources, which are known not
+     * to contain the key, are skipped, if the key index is enabled.
+     * @param key the key, not null.
+     * @return the property sources in order of significance, never null.
+     */
+    List<PropertySource> getPropertySources(String key) {
+        PropertySourceIndex index = this.propertySourceIndex;
+        if(index==null){
+            return immutablePropertySources;
+        }
+        return index.getPropertySources(key);
+    }
+
+    /**
+     * Get the property filters to be applied to the given key. Filters restricted to key prefixes not matching
+     * the key are skipped.
+     * @param key the key, not null.
+     * @return the property filters in order of evaluation, never null.
+     */
+    List<PropertyFilter> getPropertyFilters(String key) {
+        PropertyFilterIndex index = this.propertyFilterIndex;
+        if(index==null){
+            return immutablePropertyFilters;
+        }
+        return index.getPropertyFilters(key);
+    }
+
+    /**
+     * Get the instrumentation of the given context.
+     * @param context the context, not null.
+     * @return the instrumentation, or {@code null}, if the context is not a {@link DefaultConfigurationContext}
+     * or no instrumentation is registered.
+     */
+    static ConfigurationInstrumentation getInstrumentation(ConfigurationContext context){
+        if(context instanceof DefaultConfigurationContext){
+            return ((DefaultConfigurationContext)context).instrumentation;
+        }
+        return null;
+    }
+
+    private static ConfigurationInstrumentation loadInstrumentation(ServiceContext serviceContext){
+        try{
+            return serviceContext.getService(ConfigurationInstrumentation.class);
+        }catch(Exception e){
+            LOG.log(Level.WARNING, "Failed to load ConfigurationInstrumentation from ServiceContext.", e);
+            return null;
+        }
+    }
+
     @Override
     public PropertySource getPropertySource(String name) {
         for(PropertySource ps:getPropertySources()){
@@ -300,8 +366,11 @@ public class DefaultConfigurationContext implements ConfigurationContext, Serial
                 this.serviceContext, true);
         this.immutablePropertySources = Collections.unmodifiableList(
                 (List<PropertySource>)ois.readObject());
+        this.propertySourceIndex = PropertySourceIndex.of(immutablePropertySources);
+        this.instrumentation = loadInstrumentation(serviceContext);
         this.immutablePropertyFilters = Collections.unmodifiableList(
                 this.serviceContext.getServices(PropertyFilter.class));
+        this.propertyFilterIndex = PropertyFilterIndex.of(immutablePropertyFilters);
         this.metaDataProvider = this.serviceContext.getService(MetadataProvider.class);
         propertySourceLock = new ReentrantReadWriteLock();
     }
@@ -18,19 +18,26 @@
  */
 package org.apache.tamaya.spisupport;
 
+import org.apache.tamaya.spi.ChangeSupport;
 import org.apache.tamaya.spi.ConfigurationContext;
 import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 
 /**
  * Default metadata provider implementation, which searches for all kind of entries
  * formatted as {@code [(META)key].metaKey=metaValue}. All matching key/values are added to the
  * meta data mapProperties for the given key as {@code metaKey=metaValue} meta entries.
+ *
+ * <p>The meta data is evaluated lazily per key and cached, until a property source reports a change or
+ * its version changes. Versions are polled at most once per refresh interval, see {@link SourceVersions}.
+ * Entries starting with {@code [(META)} are searched once per change of the property sources.</p>
  */
 public class DefaultMetaDataProvider implements MetadataProvider {
 
@@ -38,64 +45,63 @@ public class DefaultMetaDataProvider implements MetadataProvider {
     private static final String META_PREFIX = "[(META)";
     private ConfigurationContext context;
     private Map<String, Map<String, String>> additionalProperties = new ConcurrentHashMap<>();
-    private AtomicLong lastHash = new AtomicLong();
-    private Map<String, Map<String, String>> propertyCache = new HashMap<>();
+    private volatile MetaIndex index;
 
     @Override
     public MetadataProvider init(ConfigurationContext context) {
         this.context = Objects.requireNonNull(context);
+        this.index = null;
         return this;
     }
 
     @Override
     public Map<String, String> getMetaData(String property) {
-        long configHash = Objects.hash(context.getPropertySources().toArray());
-        if(configHash!=lastHash.get()){
-            lastHash.set(configHash);
-            propertyCache = loadMetaProperties();
+        return getIndex().getMetaData(property);
+    }
+
+    private MetaIndex getIndex() {
+        List<PropertySource> propertySources = context.getPropertySources();
+        MetaIndex current = this.index;
+        if(current==null || !current.isFor(propertySources)){
+            current = new MetaIndex(this, propertySources);
+            this.index = current;
+        }else{
+            current.pollVersions();
         }
-        Map<String, String> meta = propertyCache.get(property);
-        if(meta==null){
-            return Collections.emptyMap();
+        return current;
+    }
+
+    private void invalidate(String property) {
+        MetaIndex current = this.index;
+        if(current!=null){
+            current.invalidate(property);
         }
-        return Collections.unmodifiableMap(meta);
     }
 
-    private Map<String, Map<String, String> > loadMetaProperties() {
-        Map<String, Map<String, String> > result = new HashMap<>();
-        for(PropertySource ps:context.getPropertySources()){
-            ps.getProperties().values().forEach(v -> {
-                Map<String, String> meta = result.computeIfAbsent(v.getKey(), k -> new HashMap<>());
-                meta.putAll(v.getMeta());
+    private Map<String, Map<String, String>> loadExplicitMetadata(List<PropertySource> propertySources) {
+        Map<String, Map<String, String>> result = new HashMap<>();
+        for(PropertySource ps:propertySources){
+            for(PropertyValue v:ps.getProperties().values()){
                 if(v.getQualifiedKey().toUpperCase(Locale.ENGLISH).startsWith(META_PREFIX)){
-                    loadExplicitMetadata(v);
+                    loadExplicitMetadata(v, result);
                 }
-            });
-        }
-        // Override with manual properties
-        for(Map.Entry<String,Map<String, String>> en: additionalProperties.entrySet()) {
-            Map<String, String> meta = result.get(en.getKey());
-            if(meta==null){
-                result.put(en.getKey(), new HashMap<>(en.getValue()));
-            }else {
-                meta.putAll(en.getValue());
             }
         }
-        return Collections.unmodifiableMap(result);
+        return result;
     }
 
     /**
      * Iterates all values and it's children and adds all meta-entries found in the configuration
      * (entries starting with {@code [(META)}).
      */
-    private void loadExplicitMetadata(PropertyValue value) {
+    private void loadExplicitMetadata(PropertyValue value, Map<String, Map<String, String>> result) {
         String key = value.getQualifiedKey();
         if(value.getValue()!=null){
             String[] keyValue = getMetaKeys(key);
             if(keyValue==null){
                 LOG.warning("Encountered invalid META-ENTRY: " + key);
             }else {
-                Map<String, String> meta = additionalProperties.computeIfAbsent(keyValue[0], k -> new HashMap<>());
+                Map<String, String> meta = result.computeIfAbsent(keyValue[0], k -> new HashMap<>());
                 meta.put(keyValue[1], value.getValue());
             }
         }
@@ -122,8 +128,9 @@ public class DefaultMetaDataProvider implements MetadataProvider {
         Objects.requireNonNull(property, "property null");
         Objects.requireNonNull(key, "key null");
         Objects.requireNonNull(value, "value null");
-        additionalProperties.computeIfAbsent(property, p -> new HashMap<>())
+        additionalProperties.computeIfAbsent(property, p -> new ConcurrentHashMap<>())
             .put(key, value);
+        invalidate(property);
         return this;
     }
 
@@ -131,8 +138,9 @@ public class DefaultMetaDataProvider implements MetadataProvider {
     public MetadataProvider setMeta(String property, Map<String, String> metaData) {
         Objects.requireNonNull(property, "property null");
         Objects.requireNonNull(metaData, "metaData null");
-        additionalProperties.computeIfAbsent(property, p -> new HashMap<>())
+        additionalProperties.computeIfAbsent(property, p -> new ConcurrentHashMap<>())
                 .putAll(metaData);
+        invalidate(property);
         return this;
     }
 
@@ -140,12 +148,14 @@ public class DefaultMetaDataProvider implements MetadataProvider {
     public MetadataProvider reset(String property) {
         Objects.requireNonNull(property, "property null");
         additionalProperties.remove(property);
+        invalidate(property);
         return this;
     }
 
     @Override
     public MetadataProvider reset() {
         additionalProperties.clear();
+        invalidate(null);
         return this;
     }
 
@@ -156,4 +166,167 @@ public class DefaultMetaDataProvider implements MetadataProvider {
                 .add("context = " + context)
                 .toString();
     }
+
+    /**
+     * The meta data evaluated for a given list of property sources.
+     */
+    private static final class MetaIndex {
+
+        private final DefaultMetaDataProvider provider;
+        private final PropertySource[] propertySources;
+        /** The versions of the property sources, which must be checked for changes. */
+        private final SourceVersions versions;
+        /** Guards updating the generation together with the cached data. */
+        private final Object lock = new Object();
+        /** The current generation, incremented on each change detected. */
+        private final AtomicLong generation = new AtomicLong();
+        /** The meta data by key. */
+        private final ConcurrentHashMap<String, Map<String, String>> metaData = new ConcurrentHashMap<>();
+        /** The explicit meta data entries, or {@code null}, if they must be evaluated. */
+        private volatile Map<String, Map<String, String>> explicitMetaData;
+
+        MetaIndex(DefaultMetaDataProvider provider, List<PropertySource> propertySources){
+            this.provider = provider;
+            this.propertySources = propertySources.toArray(new PropertySource[0]);
+            PropertySource[] versionedSources = propertySources.stream()
+                    .filter(ps -> ps.getChangeSupport()!=ChangeSupport.IMMUTABLE)
+                    .toArray(PropertySource[]::new);
+            this.versions = new SourceVersions(versionedSources);
+            Invalidator invalidator = new Invalidator(this);
+            for(PropertySource ps:versionedSources){
+                if(ps.getChangeSupport()==ChangeSupport.SUPPORTED) {
+                    ps.addChangeListener(invalidator);
+                }
+            }
+        }
+
+        boolean isFor(List<PropertySource> propertySources){
+            if(propertySources.size()!=this.propertySources.length){
+                return false;
+            }
+            for(int i=0;i<this.propertySources.length;i++){
+                if(propertySources.get(i)!=this.propertySources[i]){
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Map<String, String> getMetaData(String property){
+            Map<String, String> meta = metaData.get(property);
+            if(meta==null){
+                long gen = generation.get();
+                meta = evaluateMetaData(property, gen);
+                synchronized (lock) {
+                    if (gen == generation.get()) {
+                        CacheLimits.put(metaData, property, meta);
+                    }
+                }
+            }
+            return meta;
+        }
+
+        private Map<String, String> evaluateMetaData(String property, long gen){
+            Map<String, String> result = new HashMap<>();
+            for(PropertySource ps:propertySources){
+                PropertyValue value = ps.get(property);
+                if(value!=null){
+                    result.putAll(value.getMeta());
+                }
+            }
+            Map<String, Map<String, String>> explicit = this.explicitMetaData;
+            if(explicit==null){
+                explicit = provider.loadExplicitMetadata(Arrays.asList(propertySources));
+                synchronized (lock) {
+                    // do not store entries loaded before a concurrent change was detected.
+                    if (gen == generation.get()) {
+                        this.explicitMetaData = explicit;
+                    }
+                }
+            }
+            Map<String, String> explicitMeta = explicit.get(property);
+            if(explicitMeta!=null){
+                result.putAll(explicitMeta);
+            }
+            // Override with manual properties
+            Map<String, String> additionalMeta = provider.additionalProperties.get(property);
+            if(additionalMeta!=null){
+                result.putAll(additionalMeta);
+            }
+            if(result.isEmpty()){
+                return Collections.emptyMap();
+            }
+            return Collections.unmodifiableMap(result);
+        }
+
+        /**
+         * Polls the property source versions for changes not reported to the listeners, if due.
+         */
+        void pollVersions(){
+            if(versions.isRefreshDue() && versions.checkVersions()){
+                synchronized (lock) {
+                    invalidate(null);
+                    explicitMetaData = null;
+                }
+            }
+        }
+
+        /**
+         * Invalidates the meta data of a key.
+         * @param property the key, or {@code null} for invalidating all keys.
+         */
+        void invalidate(String property){
+            synchronized (lock) {
+                generation.incrementAndGet();
+                if (property == null) {
+                    metaData.clear();
+                } else {
+                    metaData.remove(property);
+                }
+            }
+        }
+
+        void keysChanged(Set<String> changedKeys, PropertySource propertySource){
+            synchronized (lock) {
+                // the change is handled here, so do not treat the new version as unreported change.
+                versions.versionReported(propertySource);
+                boolean explicitChanged = false;
+                for (String key : changedKeys) {
+                    if (key.regionMatches(true, 0, META_PREFIX, 0, META_PREFIX.length())) {
+                        explicitChanged = true;
+                        break;
+                    }
+                }
+                if (explicitChanged) {
+                    explicitMetaData = null;
+                    invalidate(null);
+                } else {
+                    generation.incrementAndGet();
+                    metaData.keySet().removeAll(changedKeys);
+                }
+            }
+        }
+    }
+
+    /**
+     * Change listener invalidating the meta data. The index is only weakly referenced, so registering the
+     * listener does not prevent it from being garbage collected.
+     */
+    private static final class Invalidator implements BiConsumer<Set<String>, PropertySource> {
+        private final WeakReference<MetaIndex> indexRef;
+
+        Invalidator(MetaIndex index){
+            this.indexRef = new WeakReference<>(index);
+        }
+
+        @Override
+        public void accept(Set<String> changedKeys, PropertySource propertySource) {
+            MetaIndex index = indexRef.get();
+            if(index==null){
+                propertySource.removeChangeListener(this);
+            }else{
+                index.keysChanged(changedKeys, propertySource);
+            }
+        }
+    }
 }
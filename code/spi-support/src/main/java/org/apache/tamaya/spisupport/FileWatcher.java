@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.PropertySource;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches files for changes using the file system's {@link WatchService}. All files of a directory are watched
+ * by one daemon thread, shared by all property sources reading files from this directory. The thread is
+ * stopped, when no files of the directory are watched anymore.
+ *
+ * <p>File system events are only taken as a hint: the callback of a watched file is only run, if the last
+ * modification time or the size of the file has actually changed.</p>
+ */
+public final class FileWatcher {
+
+    private static final Logger LOG = Logger.getLogger(FileWatcher.class.getName());
+
+    /** The directories watched, guarded by the class lock. */
+    private static final Map<Path, DirectoryWatcher> DIRECTORIES = new HashMap<>();
+
+    private FileWatcher(){}
+
+    /**
+     * Evaluates the file of a {@code file:} URL.
+     * @param url the URL, not null.
+     * @return the file, or {@code null}, if the URL does not reference a file.
+     */
+    public static Path toPath(URL url){
+        if(!"file".equals(url.getProtocol())){
+            return null;
+        }
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            LOG.log(Level.FINE, "Not a file: " + url, e);
+            return null;
+        }
+    }
+
+    /**
+     * Watches a file for changes.
+     * @param owner the property source reading the file, used for cancelling the watch, not null.
+     * @param file the file, not null.
+     * @param onChange the callback run, when the file has changed, not null.
+     * @return the watch registered, or {@code null}, if the file cannot be watched.
+     */
+    public static Watch watch(PropertySource owner, Path file, Runnable onChange){
+        Objects.requireNonNull(owner);
+        Objects.requireNonNull(onChange);
+        Path absoluteFile = file.toAbsolutePath().normalize();
+        Path directory = absoluteFile.getParent();
+        if(directory==null){
+            return null;
+        }
+        Watch watch = new Watch(owner, absoluteFile, onChange);
+        synchronized (FileWatcher.class) {
+            DirectoryWatcher watcher = DIRECTORIES.get(directory);
+            if (watcher == null) {
+                try {
+                    watcher = new DirectoryWatcher(directory);
+                } catch (IOException | UnsupportedOperationException e) {
+                    LOG.log(Level.WARNING, "Cannot watch directory " + directory + " for changes.", e);
+                    return null;
+                }
+                DIRECTORIES.put(directory, watcher);
+            }
+            watcher.watches.add(watch);
+            watch.directoryWatcher = watcher;
+        }
+        return watch;
+    }
+
+    /**
+     * Cancels all watches registered for the given property source.
+     * @param owner the property source, not null.
+     */
+    public static void cancel(PropertySource owner){
+        Objects.requireNonNull(owner);
+        for(Watch watch:getWatches()){
+            if(watch.owner==owner){
+                watch.cancel();
+            }
+        }
+    }
+
+    /**
+     * Cancels all watches and stops all watcher threads.
+     */
+    public static void shutdown(){
+        for(Watch watch:getWatches()){
+            watch.cancel();
+        }
+    }
+
+    /**
+     * Get the number of directories currently watched.
+     * @return the number of directories, each watched by one thread.
+     */
+    public static synchronized int getDirectoryCount(){
+        return DIRECTORIES.size();
+    }
+
+    private static synchronized Set<Watch> getWatches(){
+        Set<Watch> result = new HashSet<>();
+        for(DirectoryWatcher watcher:DIRECTORIES.values()){
+            result.addAll(watcher.watches);
+        }
+        return result;
+    }
+
+    /**
+     * A file watched.
+     */
+    public static final class Watch {
+        private final PropertySource owner;
+        private final Path file;
+        private final Runnable onChange;
+        private DirectoryWatcher directoryWatcher;
+        private long lastModified;
+        private long size;
+        private volatile boolean cancelled;
+
+        private Watch(PropertySource owner, Path file, Runnable onChange){
+            this.owner = owner;
+            this.file = file;
+            this.onChange = onChange;
+            updateAttributes();
+        }
+
+        /**
+         * Get the file watched.
+         * @return the file, never null.
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * Checks if this watch is cancelled.
+         * @return true, if the watch is cancelled.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Cancels this watch.
+         */
+        public void cancel(){
+            cancelled = true;
+            synchronized (FileWatcher.class) {
+                DirectoryWatcher watcher = this.directoryWatcher;
+                if (watcher != null && watcher.watches.remove(this) && watcher.watches.isEmpty()) {
+                    DIRECTORIES.remove(watcher.directory);
+                    watcher.close();
+                }
+            }
+        }
+
+        /**
+         * Runs the callback, if the file's modification time or size have changed.
+         */
+        private synchronized void check(){
+            if(cancelled || !updateAttributes()){
+                return;
+            }
+            try{
+                onChange.run();
+            }catch(Exception e){
+                LOG.log(Level.WARNING, "Failed to reload changed file " + file, e);
+            }
+        }
+
+        private boolean updateAttributes(){
+            long newLastModified = -1L;
+            long newSize = -1L;
+            try{
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                newLastModified = attributes.lastModifiedTime().toMillis();
+                newSize = attributes.size();
+            }catch(NoSuchFileException e){
+                // deleted
+            }catch(IOException e){
+                LOG.log(Level.FINE, "Cannot read attributes of " + file, e);
+                return false;
+            }
+            if(newLastModified==lastModified && newSize==size){
+                return false;
+            }
+            lastModified = newLastModified;
+            size = newSize;
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return "FileWatcher.Watch{" +
+                    "file=" + file +
+                    ", cancelled=" + cancelled +
+                    '}';
+        }
+    }
+
+    /**
+     * Watches one directory using a daemon thread.
+     */
+    private static final class DirectoryWatcher implements Runnable {
+        private final Path directory;
+        private final WatchService watchService;
+        private final CopyOnWriteArrayList<Watch> watches = new CopyOnWriteArrayList<>();
+
+        DirectoryWatcher(Path directory) throws IOException {
+            this.directory = directory;
+            this.watchService = FileSystems.getDefault().newWatchService();
+            try {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }catch(IOException | RuntimeException e){
+                watchService.close();
+                throw e;
+            }
+            Thread thread = new Thread(this, "tamaya-watch-" + directory);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            while(true){
+                WatchKey key;
+                try{
+                    key = watchService.take();
+                }catch(InterruptedException | ClosedWatchServiceException e){
+                    return;
+                }
+                Set<Path> changed = new HashSet<>();
+                boolean overflow = false;
+                for(WatchEvent<?> event:key.pollEvents()){
+                    if(event.kind()==StandardWatchEventKinds.OVERFLOW){
+                        overflow = true;
+                    }else{
+                        changed.add(directory.resolve((Path)event.context()));
+                    }
+                }
+                for(Watch watch:watches){
+                    if(overflow || changed.contains(watch.file)){
+                        watch.check();
+                    }
+                }
+                if(!key.reset()){
+                    // directory is not accessible anymore
+                    LOG.warning("Stopped watching directory " + directory);
+                    synchronized (FileWatcher.class) {
+                        DIRECTORIES.remove(directory, this);
+                    }
+                    close();
+                    return;
+                }
+            }
+        }
+
+        void close(){
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOG.log(Level.FINE, "Failed to close watch service for " + directory, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Evaluator reporting all single value lookups of another evaluator to a {@link ConfigurationInstrumentation}.
+ */
+final class InstrumentedConfigValueEvaluator implements ConfigValueEvaluator{
+
+    private final ConfigValueEvaluator delegate;
+    private final ConfigurationInstrumentation instrumentation;
+
+    /**
+     * Creates a new evaluator.
+     * @param delegate the evaluator instrumented, not null.
+     * @param instrumentation the instrumentation, not null.
+     */
+    InstrumentedConfigValueEvaluator(ConfigValueEvaluator delegate, ConfigurationInstrumentation instrumentation){
+        this.delegate = Objects.requireNonNull(delegate);
+        this.instrumentation = Objects.requireNonNull(instrumentation);
+    }
+
+    /**
+     * Get the evaluator instrumented.
+     * @return the evaluator, never null.
+     */
+    ConfigValueEvaluator getDelegate(){
+        return delegate;
+    }
+
+    @Override
+    public PropertyValue evaluateRawValue(String key, ConfigurationContext context) {
+        long start = System.nanoTime();
+        PropertyValue value = delegate.evaluateRawValue(key, context);
+        instrumentation.valueEvaluated(key, value, System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    public List<PropertyValue> evaluateAllValues(String key, ConfigurationContext context) {
+        long start = System.nanoTime();
+        List<PropertyValue> values = delegate.evaluateAllValues(key, context);
+        instrumentation.valueEvaluated(key, values==null || values.isEmpty()?null:values.get(0),
+                System.nanoTime() - start);
+        return values;
+    }
+
+    @Override
+    public Map<String, PropertyValue> evaluateRawValues(ConfigurationContext context) {
+        return delegate.evaluateRawValues(context);
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentedConfigValueEvaluator{" +
+                "delegate=" + delegate +
+                ", instrumentation=" + instrumentation +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * Evaluator, which reads the properties of all property sources concurrently when evaluating all properties,
+ * e.g. for {@link org.apache.tamaya.Configuration#getProperties()}. This reduces the latency if property sources
+ * are slow, e.g. because they are backed by files or remote resources. The properties read are merged in the
+ * order of the property sources, so the result is the same as with {@link DefaultConfigValueEvaluator}.
+ * Single values are evaluated as by {@link DefaultConfigValueEvaluator}.
+ *
+ * <p>By default property sources are read using virtual threads, if supported by the JVM, or using the
+ * common {@link ForkJoinPool} otherwise. This evaluator can be activated by registering it as
+ * {@link ConfigValueEvaluator} service, e.g. in
+ * {@code META-INF/services/org.apache.tamaya.spisupport.ConfigValueEvaluator}.</p>
+ */
+public class ParallelConfigValueEvaluator extends DefaultConfigValueEvaluator{
+
+    private static final Logger LOG = Logger.getLogger(ParallelConfigValueEvaluator.class.getName());
+
+    private final Executor executor;
+
+    /**
+     * Creates a new evaluator using the default executor.
+     */
+    public ParallelConfigValueEvaluator(){
+        this(createDefaultExecutor());
+    }
+
+    /**
+     * Creates a new evaluator.
+     * @param executor the executor used for reading the property sources, not null.
+     */
+    public ParallelConfigValueEvaluator(Executor executor){
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Get the executor used for reading the property sources.
+     * @return the executor, never null.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public Map<String, PropertyValue> evaluateRawValues(ConfigurationContext context) {
+        List<PropertySource> propertySources = context.getPropertySources();
+        if(propertySources.size()<2){
+            return super.evaluateRawValues(context);
+        }
+        List<CompletableFuture<Map<String, PropertyValue>>> futures = new ArrayList<>(propertySources.size());
+        for (PropertySource propertySource : propertySources) {
+            futures.add(CompletableFuture.supplyAsync(propertySource::getProperties, executor));
+        }
+        Map<String, PropertyValue> result = new HashMap<>();
+        for (int i=0;i<futures.size();i++) {
+            for (PropertyValue val: getProperties(futures.get(i), propertySources.get(i)).values()) {
+                if (val!=null && (val.getValueType() != PropertyValue.ValueType.VALUE || val.getValue() != null)){
+                    result.put(val.getKey(), val);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, PropertyValue> getProperties(CompletableFuture<Map<String, PropertyValue>> future,
+                                                            PropertySource propertySource){
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigException("Interrupted while reading properties from: " + propertySource.getName(), e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException){
+                throw (RuntimeException)e.getCause();
+            }
+            throw new ConfigException("Failed to read properties from: " + propertySource.getName(), e.getCause());
+        }
+    }
+
+    /**
+     * Creates the default executor, using virtual threads, if available.
+     * @return the executor, never null.
+     */
+    static Executor createDefaultExecutor(){
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            return ForkJoinPool.commonPool();
+        } catch (Exception e) {
+            LOG.log(Level.FINE, "Virtual threads not available, using common pool.", e);
+            return ForkJoinPool.commonPool();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelConfigValueEvaluator{" +
+                "executor=" + executor +
+                '}';
+    }
+}
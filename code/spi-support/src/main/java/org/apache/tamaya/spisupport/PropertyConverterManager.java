@@ -55,6 +55,11 @@ public class PropertyConverterManager {
      * The transitive converters.
      */
     private final Map<TypeLiteral<?>, List<PropertyConverter<?>>> transitiveConverters = new ConcurrentHashMap<>();
+    /**
+     * The resolved converters by target type, including empty lists for unsupported types. The map is never
+     * modified, but replaced as a whole (copy on write), so lookups do not require any locking.
+     */
+    private volatile Map<TypeLiteral<?>, List<PropertyConverter<?>>> resolvedConverters = Collections.emptyMap();
     /**
      * The lock used.
      */
@@ -169,6 +174,7 @@ public class PropertyConverterManager {
                 }
                 superClass = superClass.getSuperclass();
             }
+            this.resolvedConverters = Collections.emptyMap();
         } finally {
             writeLock.unlock();
         }
@@ -228,75 +234,79 @@ public class PropertyConverterManager {
      * Transitive conversion is supported for all directly implemented interfaces (including inherited ones) and
      * the inheritance hierarchy (exception Object). Superinterfaces of implemented interfaces are ignored.
      *
+     * <p>
+     * The resolved converters are cached per target type, so subsequent calls only perform a single lookup
+     * without any locking. The cache is reset, whenever a new converter is registered.
+     *
      * @param targetType the target type, not {@code null}.
      * @param <T>        the type class
-     * @return the ordered createList of converters (may be empty for not convertible types).
+     * @return the ordered and unmodifiable createList of converters (may be empty for not convertible types).
      * @see #createDefaultPropertyConverter(org.apache.tamaya.TypeLiteral)
      */
+    @SuppressWarnings("unchecked")
     public <T> List<PropertyConverter<T>> getPropertyConverters(TypeLiteral<T> targetType) {
-        Lock readLock = lock.readLock();
-        List<PropertyConverter<T>> converterList = new ArrayList<>();
-        // direct mapped converters
-        try {
-            readLock.lock();
-            addConvertersToList(List.class.cast(this.converters.get(targetType)), converterList);
-            addConvertersToList(List.class.cast(this.transitiveConverters.get(targetType)), converterList);
-        } finally {
-            readLock.unlock();
+        List<PropertyConverter<?>> converterList = this.resolvedConverters.get(targetType);
+        if (converterList == null) {
+            converterList = resolvePropertyConverters(targetType);
         }
-        // handling of java.lang wrapper classes
-        TypeLiteral<T> boxedType = mapBoxedType(targetType);
-        if (boxedType != null) {
-            try {
-                readLock.lock();
-                addConvertersToList(List.class.cast(this.converters.get(boxedType)), converterList);
-            } finally {
-                readLock.unlock();
+        return List.class.cast(converterList);
+    }
+
+    /**
+     * Resolves the converters for the given target type and adds them to the table of resolved converters.
+     *
+     * @param targetType the target type, not {@code null}.
+     * @return the ordered and unmodifiable createList of converters (may be empty for not convertible types).
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private List<PropertyConverter<?>> resolvePropertyConverters(TypeLiteral<?> targetType) {
+        Lock writeLock = lock.writeLock();
+        try {
+            writeLock.lock();
+            List<PropertyConverter<?>> converterList = this.resolvedConverters.get(targetType);
+            if (converterList != null) {
+                return converterList;
             }
-        }
-        if(converterList.isEmpty() && targetType.getRawType().isArray() &&
-            !targetType.getRawType().getComponentType().isPrimitive()){
-            try {
-                readLock.lock();
-                addConvertersToList(List.class.cast(this.converters.get(TypeLiteral.of(Object[].class))), converterList);
-            } finally {
-                readLock.unlock();
+            Set<PropertyConverter<?>> converterSet = new LinkedHashSet<>();
+            // direct mapped converters
+            addConvertersToSet(this.converters.get(targetType), converterSet);
+            addConvertersToSet(this.transitiveConverters.get(targetType), converterSet);
+            // handling of java.lang wrapper classes
+            TypeLiteral<?> boxedType = mapBoxedType(targetType);
+            if (boxedType != null) {
+                addConvertersToSet(this.converters.get(boxedType), converterSet);
             }
-        }
-        if (converterList.isEmpty() && !TypeLiteral.of(String.class).equals(targetType)) {
-            // adding any converters created on the fly, e.g. for enum types.
-            PropertyConverter<T> defaultConverter = createDefaultPropertyConverter(targetType);
-            if (defaultConverter != null) {
-                register(targetType, defaultConverter);
-                try {
-                    readLock.lock();
-                    addConvertersToList(List.class.cast(this.converters.get(targetType)), converterList);
-                } finally {
-                    readLock.unlock();
+            if (converterSet.isEmpty() && targetType.getRawType().isArray() &&
+                    !targetType.getRawType().getComponentType().isPrimitive()) {
+                addConvertersToSet(this.converters.get(TypeLiteral.of(Object[].class)), converterSet);
+            }
+            if (converterSet.isEmpty() && !TypeLiteral.of(String.class).equals(targetType)) {
+                // adding any converters created on the fly, e.g. for enum types.
+                PropertyConverter defaultConverter = createDefaultPropertyConverter(targetType);
+                if (defaultConverter != null) {
+                    register(targetType, defaultConverter);
+                    addConvertersToSet(this.converters.get(targetType), converterSet);
                 }
             }
-        }
-        // check for parametrized types, ignoring param type
-        // direct mapped converters
-        if(targetType.getType()!=null) {
-            try {
-                readLock.lock();
-                addConvertersToList(List.class.cast(this.converters.get(
-                        TypeLiteral.of(targetType.getRawType()))), converterList);
-            } finally {
-                readLock.unlock();
+            // check for parametrized types, ignoring param type
+            // direct mapped converters
+            if (targetType.getType() != null) {
+                addConvertersToSet(this.converters.get(TypeLiteral.of(targetType.getRawType())), converterSet);
             }
+            converterList = Collections.unmodifiableList(new ArrayList<>(converterSet));
+            Map<TypeLiteral<?>, List<PropertyConverter<?>>> newResolvedConverters =
+                    new HashMap<>(this.resolvedConverters);
+            newResolvedConverters.put(targetType, converterList);
+            this.resolvedConverters = newResolvedConverters;
+            return converterList;
+        } finally {
+            writeLock.unlock();
         }
-        return converterList;
     }
 
-    private <T> void addConvertersToList(Collection<PropertyConverter<T>> converters, List<PropertyConverter<T>> converterList) {
+    private void addConvertersToSet(Collection<PropertyConverter<?>> converters, Set<PropertyConverter<?>> converterSet) {
         if (converters != null) {
-            for(PropertyConverter<T> conv:converters) {
-                if(!converterList.contains(conv)) {
-                    converterList.add(conv);
-                }
-            }
+            converterSet.addAll(converters);
         }
     }
 
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertyFilter;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the property filters to be applied by key, based on the key prefixes declared by the filters with
+ * {@link PropertyFilter#getKeyPrefixes()}. The prefixes are organized as trie, so evaluating the filters of a
+ * key only walks the key once. The filters evaluated are cached by key, see {@link CacheLimits}.
+ */
+final class PropertyFilterIndex {
+
+    /** The filters in order of evaluation. */
+    private final List<PropertyFilter> filters;
+    /** The filters applying to all keys. */
+    private final BitSet unscoped = new BitSet();
+    /** The root of the prefix trie. */
+    private final Node root = new Node();
+    /** The filters by key. */
+    private final ConcurrentHashMap<String, List<PropertyFilter>> filtersByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new index.
+     * @param filters the filters in order of evaluation, not null.
+     */
+    PropertyFilterIndex(List<PropertyFilter> filters){
+        this.filters = Objects.requireNonNull(filters);
+        for(int i=0;i<filters.size();i++){
+            Collection<String> prefixes = filters.get(i).getKeyPrefixes();
+            if(prefixes==null || prefixes.isEmpty() || prefixes.contains("")){
+                unscoped.set(i);
+                continue;
+            }
+            for(String prefix:prefixes){
+                Node node = root;
+                for(int c=0;c<prefix.length();c++){
+                    node = node.children.computeIfAbsent(prefix.charAt(c), ch -> new Node());
+                }
+                node.filters.set(i);
+            }
+        }
+    }
+
+    /**
+     * Creates a new index, if any of the filters is restricted to key prefixes.
+     * @param filters the filters in order of evaluation, not null.
+     * @return the index, or {@code null}, if all filters apply to all keys.
+     */
+    static PropertyFilterIndex of(List<PropertyFilter> filters){
+        for(PropertyFilter filter:filters){
+            Collection<String> prefixes = filter.getKeyPrefixes();
+            if(prefixes!=null && !prefixes.isEmpty() && !prefixes.contains("")){
+                return new PropertyFilterIndex(filters);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates the filters to be applied to the given key. If the context is not a
+     * {@link DefaultConfigurationContext}, all filters are returned.
+     * @param context the context, not null.
+     * @param key the key, not null.
+     * @return the filters in order of evaluation, never null.
+     */
+    static List<PropertyFilter> getPropertyFilters(ConfigurationContext context, String key){
+        if(context instanceof DefaultConfigurationContext){
+            return ((DefaultConfigurationContext)context).getPropertyFilters(key);
+        }
+        return context.getPropertyFilters();
+    }
+
+    /**
+     * Get the filters to be applied to the given key.
+     * @param key the key, not null.
+     * @return the filters in order of evaluation, never null.
+     */
+    List<PropertyFilter> getPropertyFilters(String key){
+        List<PropertyFilter> result = filtersByKey.get(key);
+        if(result==null){
+            result = evaluateFilters(key);
+            CacheLimits.put(filtersByKey, key, result);
+        }
+        return result;
+    }
+
+    private List<PropertyFilter> evaluateFilters(String key){
+        BitSet matching = (BitSet)unscoped.clone();
+        Node node = root;
+        for(int c=0;c<key.length() && node!=null;c++){
+            node = node.children.get(key.charAt(c));
+            if(node!=null){
+                matching.or(node.filters);
+            }
+        }
+        int count = matching.cardinality();
+        if(count==0){
+            return Collections.emptyList();
+        }
+        if(count==filters.size()){
+            return filters;
+        }
+        List<PropertyFilter> result = new ArrayList<>(count);
+        for(int i=matching.nextSetBit(0);i>=0;i=matching.nextSetBit(i+1)){
+            result.add(filters.get(i));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyFilterIndex{" +
+                "filters=" + filters.size() +
+                ", keys=" + filtersByKey.size() +
+                '}';
+    }
+
+    /**
+     * Node of the prefix trie.
+     */
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final BitSet filters = new BitSet();
+    }
+}
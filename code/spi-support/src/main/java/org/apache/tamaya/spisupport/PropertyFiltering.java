@@ -58,6 +58,16 @@ public final class PropertyFiltering{
         return filterValue(value, filterContext);
     }
 
+    /**
+     * Filters a single createValue as part of all properties.
+     * @param value the raw createValue, not {@code null}.
+     * @param filterContext the filter context holding all raw properties, not {@code null}.
+     * @return the filtered createValue, including {@code null}.
+     */
+    static PropertyValue applyFilter(PropertyValue value, ReusableFilterContext filterContext) {
+        return filterValue(value, filterContext.setProperty(value));
+    }
+
     /**
      * Filters a single createValue.
      * @param values the full values, not {@code null}.
@@ -84,10 +94,10 @@ public final class PropertyFiltering{
      */
     public static Map<String, PropertyValue> applyFilters(Map<String, PropertyValue> rawProperties, ConfigurationContext context) {
         Map<String, PropertyValue> result = new HashMap<>();
+        ReusableFilterContext filterContext = new ReusableFilterContext(rawProperties, context);
         // Apply filters to values, prevent values filtered to null!
-        for (Map.Entry<String, PropertyValue> entry : rawProperties.entrySet()) {
-            FilterContext filterContext = new FilterContext(entry.getValue(), rawProperties, context);
-            PropertyValue filtered = filterValue(filterContext.getProperty(), filterContext);
+        for (PropertyValue value : rawProperties.values()) {
+            PropertyValue filtered = filterValue(value, filterContext.setProperty(value));
             if(filtered!=null){
                 result.put(filtered.getKey(), filtered);
             }
@@ -96,45 +106,72 @@ public final class PropertyFiltering{
     }
 
     /**
-     * Basic filter logic.
+     * Basic filter logic. The filters are applied in a loop until no filter changes the createValue anymore, or
+     * after the first pass, if all filters are {@link PropertyFilter#isIdempotent() idempotent}.
      * @param context the filter context, not {@code null}.
      * @return the filtered createValue.
      */
     private static PropertyValue filterValue(PropertyValue inputValue, FilterContext context) {
         PropertyValue filteredValue = inputValue;
+        List<PropertyFilter> filters = PropertyFilterIndex.getPropertyFilters(context.getConfigurationContext(),
+                inputValue.getQualifiedKey());
+        boolean singlePass = isIdempotent(filters);
+        boolean finest = LOG.isLoggable(Level.FINEST);
+        boolean detectChanges = !singlePass || finest;
+        int loops = 0;
 
         for (int i = 0; i < MAX_FILTER_LOOPS; i++) {
+            loops++;
             int changes = 0;
-            for (PropertyFilter filter : context.getConfigurationContext().getPropertyFilters()) {
-                String value = filteredValue!=null?filteredValue.getValue():null;
+            for (PropertyFilter filter : filters) {
+                // values may be changed in place, so compare the value before filtering
+                String value = detectChanges && filteredValue!=null?filteredValue.getValue():null;
                 filteredValue = filter.filterProperty(filteredValue, context);
-                String newValue = filteredValue!=null?filteredValue.getValue():null;
-
-                if (!Objects.equals(value, newValue)) {
-                    changes++;
-                    LOG.finest("Filter - " + filteredValue + " by " + filter);
-                }
                 if (filteredValue == null) {
-                    LOG.finest("Filter removed entry - " + inputValue + ": " + filter);
+                    if (finest) {
+                        LOG.finest("Filter removed entry - " + inputValue + ": " + filter);
+                    }
                     break;
                 }
+                if (detectChanges && !Objects.equals(value, filteredValue.getValue())) {
+                    changes++;
+                    if (finest) {
+                        LOG.finest("Filter - " + filteredValue + " by " + filter);
+                    }
+                }
             }
-            if (changes == 0) {
-                LOG.finest("Finishing filter loop, no changes detected.");
+            if (singlePass || filteredValue == null) {
                 break;
-            } else if (filteredValue == null) {
+            } else if (changes == 0) {
+                if (finest) {
+                    LOG.finest("Finishing filter loop, no changes detected.");
+                }
                 break;
             } else {
                 if (i == (MAX_FILTER_LOOPS - 1)) {
                     if (LOG.isLoggable(Level.WARNING)) {
                         LOG.warning("Maximal filter loop count reached, aborting filter evaluation after cycles: " + i);
                     }
-                } else {
+                } else if (finest) {
                     LOG.finest("Repeating filter loop, changes detected: " + changes);
                 }
             }
         }
+        ConfigurationInstrumentation instrumentation =
+                DefaultConfigurationContext.getInstrumentation(context.getConfigurationContext());
+        if(instrumentation!=null){
+            instrumentation.valueFiltered(inputValue.getKey(), loops);
+        }
         return filteredValue;
     }
 
+    private static boolean isIdempotent(List<PropertyFilter> filters) {
+        for (PropertyFilter filter : filters) {
+            if (!filter.isIdempotent()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
 }
@@ -23,9 +23,8 @@ import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
 
 import java.util.*;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
@@ -35,6 +34,10 @@ import java.util.logging.Logger;
 
 /**
  * Simple support class for helping with change management on property sources.
+ *
+ * <p>Property sources can be monitored by {@link #scheduleChangeMonitor(Supplier, long, TimeUnit)}, which polls
+ * for changes using the shared {@link ReloadScheduler}. Optionally bursts of changes can be coalesced into one
+ * listener notification, see {@link #setCoalescingDelay(long, TimeUnit)}.</p>
  */
 public final class PropertySourceChangeSupport {
 
@@ -43,13 +46,14 @@ public final class PropertySourceChangeSupport {
     private ChangeSupport changeSupport;
     private PropertySource propertySource;
     private AtomicLong version = new AtomicLong();
-    private List<BiConsumer<Set<String>, PropertySource>> listeners  = new ArrayList<>();
+    private List<BiConsumer<Set<String>, PropertySource>> listeners  = new CopyOnWriteArrayList<>();
     private int oldHash = 0;
-    private Map<String, PropertyValue> valueMap;
+    private volatile Map<String, PropertyValue> valueMap;
     private long timestamp;
-    private ScheduledFuture scheduleTask;
-
-    private static ScheduledExecutorService executorService = Executors.newScheduledThreadPool(4);
+    private ReloadScheduler.Task scheduleTask;
+    private volatile long coalescingDelayMillis;
+    /** The changed keys not yet notified, when coalescing changes. */
+    private Set<String> pendingKeys;
 
     /**
      * Create a new property change support instance.
@@ -98,20 +102,69 @@ public final class PropertySourceChangeSupport {
 
     public long load(Map<String, PropertyValue> properties){
         Objects.requireNonNull(properties);
-        if(changeSupport==ChangeSupport.SUPPORTED) {
-            Set<String> changedKeys = calculateChangedKeys(this.valueMap, properties);
-            if(!changedKeys.isEmpty()) {
-                this.valueMap = properties;
-                version.incrementAndGet();
-                fireListeners(changedKeys);
+        Set<String> changedKeys = null;
+        long result;
+        synchronized (this) {
+            if (changeSupport == ChangeSupport.SUPPORTED) {
+                changedKeys = calculateChangedKeys(this.valueMap, properties);
+                if (!changedKeys.isEmpty()) {
+                    this.valueMap = properties;
+                    version.incrementAndGet();
+                }
+            } else {
+                if (!properties.equals(this.valueMap)) {
+                    this.valueMap = properties;
+                    version.incrementAndGet();
+                }
             }
-        } else {
-            if(!properties.equals(this.valueMap)){
-                this.valueMap = properties;
-                version.incrementAndGet();
+            result = version.get();
+        }
+        if(changedKeys!=null && !changedKeys.isEmpty()){
+            notifyListeners(changedKeys);
+        }
+        return result;
+    }
+
+    /**
+     * Sets the delay, by which listeners are notified about changes. All changes loaded within this delay are
+     * notified together. The version is still updated immediately.
+     * @param delay the delay, or {@code 0} for notifying each change immediately.
+     * @param timeUnit the time unit, not null.
+     */
+    public void setCoalescingDelay(long delay, TimeUnit timeUnit){
+        this.coalescingDelayMillis = Math.max(0, timeUnit.toMillis(delay));
+    }
+
+    private void notifyListeners(Set<String> changedKeys) {
+        if(coalescingDelayMillis<=0){
+            fireListeners(changedKeys);
+            return;
+        }
+        synchronized (this) {
+            if(pendingKeys!=null){
+                pendingKeys.addAll(changedKeys);
+                return;
             }
+            pendingKeys = new HashSet<>(changedKeys);
+        }
+        try {
+            ReloadScheduler.execute(this::firePendingListeners, coalescingDelayMillis, TimeUnit.MILLISECONDS);
+        }catch(RejectedExecutionException e){
+            // shut down concurrently, so notify now instead of losing all further changes
+            LOG.log(Level.FINE, "Delayed change notification rejected, notifying immediately.", e);
+            firePendingListeners();
+        }
+    }
+
+    private void firePendingListeners() {
+        Set<String> changedKeys;
+        synchronized (this) {
+            changedKeys = pendingKeys;
+            pendingKeys = null;
+        }
+        if(changedKeys!=null){
+            fireListeners(changedKeys);
         }
-        return version.get();
     }
 
     private Set<String> calculateChangedKeys(Map<String, PropertyValue> valueMap, Map<String, PropertyValue> newValues) {
@@ -162,18 +215,29 @@ public final class PropertySourceChangeSupport {
         return Collections.unmodifiableMap(valueMap);
     }
 
-    public void scheduleChangeMonitor(Supplier<Map<String, PropertyValue>> propertySupplier, long duration, TimeUnit timeUnit){
+    /**
+     * Monitors the property source for changes, by loading its properties periodically. If loading the
+     * properties fails, the delay is increased up to eight times the given delay, until loading succeeds again.
+     * @param propertySupplier the supplier loading the current properties, not null.
+     * @param duration the delay between two checks.
+     * @param timeUnit the time unit, not null.
+     */
+    public synchronized void scheduleChangeMonitor(Supplier<Map<String, PropertyValue>> propertySupplier,
+                                                   long duration, TimeUnit timeUnit){
         if(changeSupport==ChangeSupport.SUPPORTED) {
             Objects.requireNonNull(propertySupplier);
-            scheduleTask = executorService.schedule(() -> {
-                load(propertySupplier.get());
-            }, duration, timeUnit);
+            cancelSchedule();
+            scheduleTask = ReloadScheduler.schedule(propertySource, () -> {
+                long oldVersion = version.get();
+                return load(propertySupplier.get()) != oldVersion;
+            }, duration, duration * 8, timeUnit);
         }
     }
 
-    public void cancelSchedule(){
+    public synchronized void cancelSchedule(){
         if(changeSupport==ChangeSupport.SUPPORTED && scheduleTask!=null){
-            scheduleTask.cancel(false);
+            scheduleTask.cancel();
+            scheduleTask = null;
         }
     }
 
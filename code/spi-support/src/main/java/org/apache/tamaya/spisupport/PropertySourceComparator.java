@@ -23,6 +23,7 @@ import org.apache.tamaya.spi.PropertyValue;
 
 import java.io.Serializable;
 import java.util.Comparator;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -58,9 +59,11 @@ public class PropertySourceComparator implements Comparator<PropertySource>, Ser
      * @return the comparison result.
      */
     private int comparePropertySources(PropertySource source1, PropertySource source2) {
-        if (getOrdinal(source1) < getOrdinal(source2)) {
+        int ordinal1 = getOrdinal(source1);
+        int ordinal2 = getOrdinal(source2);
+        if (ordinal1 < ordinal2) {
             return -1;
-        } else if (getOrdinal(source1) > getOrdinal(source2)) {
+        } else if (ordinal1 > ordinal2) {
             return 1;
         } else {
             return source1.getClass().getName().compareTo(source2.getClass().getName());
@@ -92,8 +95,10 @@ public class PropertySourceComparator implements Comparator<PropertySource>, Ser
                 try {
                     return Integer.parseInt(ordinalValue.getValue().trim());
                 } catch (Exception e) {
-                    LOG.finest("Failed to parse ordinal from " + alternativeOrdinalKey +
-                            " in " + propertySource.getName() + ": " + ordinalValue.getValue());
+                    if (LOG.isLoggable(Level.FINEST)) {
+                        LOG.finest("Failed to parse ordinal from " + alternativeOrdinalKey +
+                                " in " + propertySource.getName() + ": " + ordinalValue.getValue());
+                    }
                 }
             }
         }
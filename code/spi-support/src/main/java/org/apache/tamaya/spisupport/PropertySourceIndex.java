@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.ChangeSupport;
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertySource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index mapping keys to the property sources, which must be asked for a key. The index is built lazily from
+ * the results of {@link PropertySource#get(String)}, so it also works for property sources that are not
+ * scannable or translate the keys requested (e.g. the environment property source).
+ *
+ * <p>Only {@link ChangeSupport#IMMUTABLE} property sources are indexed and skipped, if they do not contain
+ * a key. All other property sources are always included in the candidates returned, since they may change
+ * without notice or only detect changes when being accessed. The index is disabled by default and can be
+ * enabled by setting the {@code tamaya.keyindex.enabled} system or environment property to {@code true}.</p>
+ */
+final class PropertySourceIndex {
+
+    /** The system or environment property to enable the index. */
+    static final String ENABLED_PROPERTY = "tamaya.keyindex.enabled";
+
+    /** The property sources in order of significance. */
+    private final List<PropertySource> propertySources;
+    /** The candidates for keys not contained in any immutable property source. */
+    private final List<PropertySource> changeableSources;
+    /** The candidates by key. */
+    private final ConcurrentHashMap<String, List<PropertySource>> candidates = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new index.
+     * @param propertySources the property sources in order of significance, not null.
+     */
+    PropertySourceIndex(List<PropertySource> propertySources){
+        this.propertySources = Objects.requireNonNull(propertySources);
+        List<PropertySource> changeable = new ArrayList<>();
+        for(PropertySource ps:propertySources){
+            if(ps.getChangeSupport()!=ChangeSupport.IMMUTABLE){
+                changeable.add(ps);
+            }
+        }
+        this.changeableSources = Collections.unmodifiableList(changeable);
+    }
+
+    /**
+     * Creates a new index, if the index is enabled.
+     * @param propertySources the property sources in order of significance, not null.
+     * @return the index, or {@code null}.
+     */
+    static PropertySourceIndex of(List<PropertySource> propertySources){
+        String value = System.getProperty(ENABLED_PROPERTY);
+        if(value==null){
+            value = System.getenv(ENABLED_PROPERTY);
+        }
+        if(Boolean.parseBoolean(value)){
+            return new PropertySourceIndex(propertySources);
+        }
+        return null;
+    }
+
+    /**
+     * Evaluates the property sources to be asked for the given key. If the context is not a
+     * {@link DefaultConfigurationContext} with an index, all property sources are returned.
+     * @param context the context, not null.
+     * @param key the key, not null.
+     * @return the property sources in order of significance, never null.
+     */
+    static List<PropertySource> getPropertySources(ConfigurationContext context, String key){
+        if(context instanceof DefaultConfigurationContext){
+            return ((DefaultConfigurationContext)context).getPropertySources(key);
+        }
+        return context.getPropertySources();
+    }
+
+    /**
+     * Get the property sources to be asked for the given key.
+     * @param key the key, not null.
+     * @return the property sources in order of significance, never null.
+     */
+    List<PropertySource> getPropertySources(String key){
+        List<PropertySource> result = candidates.get(key);
+        if(result==null){
+            result = evaluateCandidates(key);
+            CacheLimits.put(candidates, key, result);
+        }
+        return result;
+    }
+
+    private List<PropertySource> evaluateCandidates(String key){
+        List<PropertySource> result = null;
+        for(int i=0;i<propertySources.size();i++){
+            PropertySource ps = propertySources.get(i);
+            boolean candidate = ps.getChangeSupport()!=ChangeSupport.IMMUTABLE || ps.get(key)!=null;
+            if(result==null && !candidate){
+                // first skipped source, copy the previous ones.
+                result = new ArrayList<>(propertySources.subList(0, i));
+            }else if(result!=null && candidate){
+                result.add(ps);
+            }
+        }
+        if(result==null){
+            return propertySources;
+        }
+        if(result.size()==changeableSources.size()){
+            return changeableSources;
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Override
+    public String toString() {
+        return "PropertySourceIndex{" +
+                "keys=" + candidates.size() +
+                '}';
+    }
+}
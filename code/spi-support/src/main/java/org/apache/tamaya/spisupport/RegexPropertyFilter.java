@@ -22,63 +22,156 @@ import org.apache.tamaya.spi.FilterContext;
 import org.apache.tamaya.spi.PropertyFilter;
 import org.apache.tamaya.spi.PropertyValue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Predicate filtering using a regex expression operating on the key. It allows either
  * to define the target keys to be selected (includes), or to be excluded (excludes).
+ * The expressions are compiled once when set, and the verdicts are cached by key, see {@link CacheLimits}.
  */
 public final class RegexPropertyFilter implements PropertyFilter {
-    /** The expression used to include entries that match. */
-    private List<String> includes;
-    /** The expression used to exclude entries that match. */
-    private List<String> excludes;
+    /**
+     * Detects back references, named groups and quotes, which prevent combining expressions into a single
+     * pattern.
+     */
+    private static final Pattern NOT_COMBINABLE = Pattern.compile("\\\\([1-9]|k<|Q)|\\(\\?<");
+
+    /** The expressions, their compiled patterns and the verdicts, replaced as a whole on changes. */
+    private volatile State state = new State(null, null);
 
     /**
      * Sets the regex expression to be applied on the key to filter the corresponding entry
      * if matching.
      * @param expressions the regular expression for inclusion, not null.
+     * @throws java.util.regex.PatternSyntaxException if an expression is invalid.
      */
-    public void setIncludes(String... expressions){
-        this.includes = Arrays.asList(expressions);
+    public synchronized void setIncludes(String... expressions){
+        this.state = new State(Arrays.asList(expressions), state.excludes);
     }
 
     /**
      * Sets the regex expression to be applied on the key to remove the corresponding entries
      * if matching.
      * @param expressions the regular expressions for exclusion, not null.
+     * @throws java.util.regex.PatternSyntaxException if an expression is invalid.
      */
-    public void setExcludes(String... expressions){
-        this.excludes= Arrays.asList(expressions);
+    public synchronized void setExcludes(String... expressions){
+        this.state = new State(state.includes, Arrays.asList(expressions));
     }
 
     @Override
     public PropertyValue filterProperty(PropertyValue valueToBeFiltered, FilterContext context) {
-        if(includes!=null){
-            for(String expression:includes){
-                if(valueToBeFiltered.getQualifiedKey().matches(expression)){
-                    return valueToBeFiltered;
-                }
-            }
-            return null;
+        State current = this.state;
+        if(current.includePatterns==null && current.excludePatterns==null){
+            return valueToBeFiltered;
         }
-        if(excludes!=null){
-            for(String expression:excludes){
-                if(valueToBeFiltered.getQualifiedKey().matches(expression)){
-                    return null;
-                }
-            }
+        String key = valueToBeFiltered.getQualifiedKey();
+        Boolean verdict = current.verdicts.get(key);
+        if(verdict==null){
+            verdict = current.evaluate(key);
+            CacheLimits.put(current.verdicts, key, verdict);
         }
-        return valueToBeFiltered;
+        return verdict?valueToBeFiltered:null;
+    }
+
+    /**
+     * This filter only removes entries, so it is idempotent.
+     * @return true.
+     */
+    @Override
+    public boolean isIdempotent() {
+        return true;
     }
 
     @Override
     public String toString() {
         return "RegexPropertyFilter{" +
-                "includes='" + includes + '\'' +
-                "excludes='" + excludes + '\'' +
+                "includes='" + state.includes + '\'' +
+                "excludes='" + state.excludes + '\'' +
                 '}';
     }
 
+    /**
+     * The expressions and the verdicts evaluated from them. The verdicts are only valid for the expressions of
+     * the same state, so a verdict evaluated concurrently to a change can never be used with the new
+     * expressions.
+     */
+    private static final class State {
+
+        /** The expression used to include entries that match. */
+        private final List<String> includes;
+        /** The expression used to exclude entries that match. */
+        private final List<String> excludes;
+        /** The compiled includes, or null. */
+        private final CompiledExpressions includePatterns;
+        /** The compiled excludes, or null. */
+        private final CompiledExpressions excludePatterns;
+        /** The verdicts by qualified key, true for keys passing the filter. */
+        private final ConcurrentHashMap<String, Boolean> verdicts = new ConcurrentHashMap<>();
+
+        State(List<String> includes, List<String> excludes){
+            this.includes = includes;
+            this.excludes = excludes;
+            this.includePatterns = includes==null?null:new CompiledExpressions(includes);
+            this.excludePatterns = excludes==null?null:new CompiledExpressions(excludes);
+        }
+
+        boolean evaluate(String key){
+            if(includePatterns!=null){
+                return includePatterns.matches(key);
+            }
+            return excludePatterns==null || !excludePatterns.matches(key);
+        }
+    }
+
+    /**
+     * Compiled expressions, combined into a single alternation, if possible. Expressions using back
+     * references, named groups or quotes are compiled separately, since combining them may change their
+     * meaning or fail.
+     */
+    private static final class CompiledExpressions {
+
+        private final List<Pattern> patterns = new ArrayList<>();
+
+        CompiledExpressions(List<String> expressions){
+            boolean combinable = true;
+            for(String expression:expressions){
+                patterns.add(Pattern.compile(expression));
+                if(NOT_COMBINABLE.matcher(expression).find()){
+                    combinable = false;
+                }
+            }
+            if(combinable && patterns.size()>1){
+                StringBuilder b = new StringBuilder();
+                for(String expression:expressions){
+                    if(b.length()>0){
+                        b.append('|');
+                    }
+                    b.append("(?:").append(expression).append(')');
+                }
+                try{
+                    Pattern combined = Pattern.compile(b.toString());
+                    patterns.clear();
+                    patterns.add(combined);
+                }catch(PatternSyntaxException e){
+                    // keep the separately compiled patterns
+                }
+            }
+        }
+
+        boolean matches(String key){
+            for(Pattern pattern:patterns){
+                if(pattern.matcher(key).matches()){
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
 }
@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.PropertySource;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared scheduler for reloading property sources. All reload checks run on a small pool of daemon threads, so
+ * they never prevent the JVM from shutting down. Each check is polled with a jittered delay, so checks
+ * registered at the same time do not run in lock step. Checks not detecting any change keep their configured
+ * delay, so changes are always picked up within this delay. Only if a check fails, its delay is doubled up to
+ * its maximal delay, and reset to the initial delay as soon as the check succeeds again.
+ *
+ * <p>The number of checks registered is bounded by {@code tamaya.reload.maxTasks} (system property or
+ * environment variable, default {@value #DEFAULT_MAX_TASKS}). The threads are started on demand and are
+ * stopped by {@link #shutdown()}.</p>
+ */
+public final class ReloadScheduler {
+
+    private static final Logger LOG = Logger.getLogger(ReloadScheduler.class.getName());
+
+    /** Property (or environment variable) defining the maximal number of checks registered. */
+    public static final String MAX_TASKS_PROPERTY = "tamaya.reload.maxTasks";
+    /** The default maximal number of checks registered. */
+    static final int DEFAULT_MAX_TASKS = 256;
+    /** The number of threads used. */
+    private static final int THREADS = 2;
+    /** The maximal part of a delay, by which a check is run earlier. */
+    private static final double JITTER = 0.1;
+
+    private static final Set<Task> TASKS = ConcurrentHashMap.newKeySet();
+    /** The actions registered by {@link #execute(Runnable, long, TimeUnit)}, which have not been run yet. */
+    private static final Set<DelayedAction> DELAYED_ACTIONS = ConcurrentHashMap.newKeySet();
+    private static ScheduledThreadPoolExecutor executor;
+
+    private ReloadScheduler(){}
+
+    /**
+     * Registers a new reload check.
+     * @param owner the property source reloaded, used for cancelling the check, not null.
+     * @param check the check, returning {@code true}, if a change was detected, not null.
+     * @param delay the delay between two checks, greater than zero.
+     * @param maxDelay the maximal delay, when backing off from failing checks, at least {@code delay}.
+     * @param timeUnit the time unit, not null.
+     * @return the registered task, or {@code null}, if the maximal number of checks is already registered.
+     */
+    public static Task schedule(PropertySource owner, BooleanSupplier check, long delay, long maxDelay,
+                                TimeUnit timeUnit){
+        Objects.requireNonNull(owner);
+        Objects.requireNonNull(check);
+        if(delay<=0){
+            throw new IllegalArgumentException("delay must be greater than zero: " + delay);
+        }
+        int maxTasks = getMaxTasks();
+        synchronized (TASKS) {
+            if (TASKS.size() >= maxTasks) {
+                LOG.warning("Not monitoring " + owner.getName() + " for changes, already " + maxTasks +
+                        " reload checks registered, see " + MAX_TASKS_PROPERTY + ".");
+                return null;
+            }
+            Task task = new Task(owner, check, timeUnit.toMillis(delay),
+                    Math.max(timeUnit.toMillis(delay), timeUnit.toMillis(maxDelay)));
+            TASKS.add(task);
+            task.scheduleNext();
+            return task;
+        }
+    }
+
+    /**
+     * Runs the given action once after the given delay. Actions still pending on {@link #shutdown()} are run
+     * by the thread shutting down the scheduler, so they are never lost.
+     * @param action the action, not null.
+     * @param delay the delay.
+     * @param timeUnit the time unit, not null.
+     * @throws RejectedExecutionException if the scheduler is shut down concurrently.
+     */
+    static void execute(Runnable action, long delay, TimeUnit timeUnit){
+        Objects.requireNonNull(action);
+        DelayedAction delayed = new DelayedAction(action);
+        DELAYED_ACTIONS.add(delayed);
+        try {
+            getExecutor().schedule(delayed, delay, timeUnit);
+        }catch(RejectedExecutionException e){
+            DELAYED_ACTIONS.remove(delayed);
+            throw e;
+        }
+    }
+
+    /**
+     * Cancels all checks registered for the given property source.
+     * @param owner the property source, not null.
+     */
+    public static void cancel(PropertySource owner){
+        Objects.requireNonNull(owner);
+        for(Task task:TASKS){
+            if(task.owner==owner){
+                task.cancel();
+            }
+        }
+    }
+
+    /**
+     * Cancels all checks and stops the threads. Pending actions registered by
+     * {@link #execute(Runnable, long, TimeUnit)} are run immediately by the calling thread. Checks registered
+     * later start the threads again.
+     */
+    public static void shutdown(){
+        for(Task task:TASKS){
+            task.cancel();
+        }
+        synchronized (ReloadScheduler.class){
+            if(executor!=null){
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+        for(DelayedAction action:DELAYED_ACTIONS){
+            action.run();
+        }
+    }
+
+    /**
+     * Get the number of checks currently registered.
+     * @return the number of checks.
+     */
+    public static int getTaskCount(){
+        return TASKS.size();
+    }
+
+    private static synchronized ScheduledThreadPoolExecutor getExecutor(){
+        if(executor==null){
+            executor = new ScheduledThreadPoolExecutor(THREADS, new DaemonThreadFactory());
+            executor.setRemoveOnCancelPolicy(true);
+        }
+        return executor;
+    }
+
+    private static int getMaxTasks(){
+        String value = System.getProperty(MAX_TASKS_PROPERTY);
+        if(value==null){
+            value = System.getenv(MAX_TASKS_PROPERTY);
+        }
+        if(value!=null){
+            try{
+                return Integer.parseInt(value.trim());
+            }catch(NumberFormatException e){
+                LOG.warning("Invalid value for " + MAX_TASKS_PROPERTY + ": " + value);
+            }
+        }
+        return DEFAULT_MAX_TASKS;
+    }
+
+    /**
+     * A reload check registered.
+     */
+    public static final class Task {
+        private final PropertySource owner;
+        private final BooleanSupplier check;
+        private final long initialDelay;
+        private final long maxDelay;
+        private long delay;
+        private volatile boolean cancelled;
+        private ScheduledFuture<?> future;
+
+        private Task(PropertySource owner, BooleanSupplier check, long initialDelay, long maxDelay){
+            this.owner = owner;
+            this.check = check;
+            this.initialDelay = initialDelay;
+            this.maxDelay = maxDelay;
+            this.delay = initialDelay;
+        }
+
+        /**
+         * Get the property source reloaded.
+         * @return the property source, never null.
+         */
+        public PropertySource getOwner() {
+            return owner;
+        }
+
+        /**
+         * Get the current delay, before the check is run again.
+         * @return the delay in milliseconds.
+         */
+        public synchronized long getDelay() {
+            return delay;
+        }
+
+        /**
+         * Checks if this check is cancelled.
+         * @return true, if the check is cancelled.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Cancels this check.
+         */
+        public void cancel(){
+            cancelled = true;
+            TASKS.remove(this);
+            synchronized (this){
+                if(future!=null){
+                    future.cancel(false);
+                }
+            }
+        }
+
+        private synchronized void scheduleNext(){
+            if(!cancelled) {
+                long jitter = (long) (delay * JITTER * ThreadLocalRandom.current().nextDouble());
+                try {
+                    future = getExecutor().schedule(this::run, delay - jitter, TimeUnit.MILLISECONDS);
+                }catch(RejectedExecutionException e){
+                    // shut down concurrently
+                    LOG.log(Level.FINE, "Reload check not rescheduled: " + this, e);
+                }
+            }
+        }
+
+        private void run(){
+            if(cancelled){
+                return;
+            }
+            boolean failed = false;
+            try{
+                if(check.getAsBoolean()){
+                    LOG.finest(() -> "Reload check detected changes for " + owner.getName());
+                }
+            }catch(Exception e){
+                failed = true;
+                LOG.log(Level.WARNING, "Reload check failed for " + owner.getName(), e);
+            }
+            synchronized (this) {
+                delay = failed ? Math.min(delay * 2, maxDelay) : initialDelay;
+            }
+            scheduleNext();
+        }
+
+        @Override
+        public String toString() {
+            return "ReloadScheduler.Task{" +
+                    "owner=" + owner.getName() +
+                    ", delay=" + delay +
+                    ", cancelled=" + cancelled +
+                    '}';
+        }
+    }
+
+    /**
+     * An action run once, either by the scheduler or on shutdown, whatever comes first.
+     */
+    private static final class DelayedAction implements Runnable {
+        private final Runnable action;
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        DelayedAction(Runnable action){
+            this.action = action;
+        }
+
+        @Override
+        public void run() {
+            if(started.compareAndSet(false, true)){
+                DELAYED_ACTIONS.remove(this);
+                try {
+                    action.run();
+                }catch(Exception e){
+                    LOG.log(Level.WARNING, "Delayed action failed: " + action, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates named daemon threads.
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "tamaya-reload-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
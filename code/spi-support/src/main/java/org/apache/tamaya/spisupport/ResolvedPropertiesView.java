@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The merged and filtered properties of a configuration, as returned by
+ * {@link org.apache.tamaya.Configuration#getProperties()}. The properties are evaluated on first access and
+ * then maintained incrementally: if a property source reports changed keys, only these keys are merged again.
+ * As long as nothing changes, the same immutable map instance is returned.
+ *
+ * <p>Since filters may access any raw value by {@link org.apache.tamaya.spi.FilterContext#getConfigEntries()},
+ * all values are filtered again on changes, if any filters are registered. Without filters, only the changed
+ * keys are updated. Updated maps share the unchanged entries with the previous map, so an update does not
+ * copy all properties.</p>
+ *
+ * <p>Incremental updates require the raw values being merged the same way as by
+ * {@link DefaultConfigValueEvaluator}. With other evaluators, or if changes are detected without knowing the
+ * keys affected, the properties are evaluated again as a whole.</p>
+ */
+final class ResolvedPropertiesView {
+
+    private final ConfigurationContext context;
+    private final ConfigValueEvaluator evaluator;
+    private final boolean incremental;
+
+    /** The properties as returned by the property sources, used for incremental updates. */
+    private final Map<PropertySource, Map<String, PropertyValue>> sourceProperties = new IdentityHashMap<>();
+    /** The merged raw properties. */
+    private Map<String, PropertyValue> rawProperties;
+    /** The immutable properties returned, or {@code null}, if they must be evaluated. */
+    private OverlayMap properties;
+    /** The changed keys not yet applied, by property source. */
+    private final Map<PropertySource, Set<String>> pendingChanges = new IdentityHashMap<>();
+
+    /**
+     * Creates a new view.
+     * @param context the context, not null.
+     * @param evaluator the evaluator used for merging the property source's properties, not null.
+     */
+    ResolvedPropertiesView(ConfigurationContext context, ConfigValueEvaluator evaluator){
+        this.context = Objects.requireNonNull(context);
+        this.evaluator = Objects.requireNonNull(evaluator);
+        ConfigValueEvaluator merging = evaluator instanceof InstrumentedConfigValueEvaluator?
+                ((InstrumentedConfigValueEvaluator)evaluator).getDelegate():evaluator;
+        this.incremental = merging.getClass()==DefaultConfigValueEvaluator.class ||
+                merging.getClass()==ReverseOrderConfigValueEvaluator.class;
+    }
+
+    /**
+     * Get the current properties.
+     * @return the immutable properties, never null.
+     */
+    synchronized Map<String, String> getProperties(){
+        if(properties==null){
+            evaluateAll();
+        }else if(!pendingChanges.isEmpty()){
+            applyChanges();
+        }
+        return properties;
+    }
+
+    /**
+     * Records keys changed by a property source, to be applied with the next access.
+     * @param changedKeys the changed keys, not null.
+     * @param propertySource the property source, not null.
+     */
+    synchronized void keysChanged(Set<String> changedKeys, PropertySource propertySource){
+        if(properties==null){
+            return;
+        }
+        if(!incremental || !sourceProperties.containsKey(propertySource)){
+            reset();
+            return;
+        }
+        pendingChanges.computeIfAbsent(propertySource, ps -> new HashSet<>()).addAll(changedKeys);
+    }
+
+    /**
+     * Resets the view, so all properties are evaluated again with the next access.
+     */
+    synchronized void reset(){
+        properties = null;
+        pendingChanges.clear();
+    }
+
+    private void evaluateAll(){
+        pendingChanges.clear();
+        sourceProperties.clear();
+        if(incremental){
+            rawProperties = new HashMap<>();
+            for(PropertySource ps:context.getPropertySources()){
+                Map<String, PropertyValue> props = ps.getProperties();
+                sourceProperties.put(ps, props);
+                for(PropertyValue val:props.values()){
+                    if(isPresent(val)){
+                        rawProperties.put(val.getKey(), val);
+                    }
+                }
+            }
+        }else{
+            rawProperties = evaluator.evaluateRawValues(context);
+        }
+        properties = new OverlayMap(filterAll(), Collections.emptyMap(), 0);
+    }
+
+    private Map<String, String> filterAll(){
+        Map<String, String> values = new HashMap<>();
+        for(PropertyValue val:PropertyFiltering.applyFilters(rawProperties, context).values()){
+            if(val.getValue()!=null) {
+                values.put(val.getKey(), val.getValue());
+            }
+        }
+        return values;
+    }
+
+    private void applyChanges(){
+        Set<String> changedKeys = new HashSet<>();
+        for(Map.Entry<PropertySource, Set<String>> en:pendingChanges.entrySet()){
+            sourceProperties.put(en.getKey(), en.getKey().getProperties());
+            changedKeys.addAll(en.getValue());
+        }
+        pendingChanges.clear();
+        List<PropertySource> propertySources = context.getPropertySources();
+        Map<String, String> updates = new HashMap<>();
+        for(String key:changedKeys){
+            PropertyValue merged = null;
+            for(PropertySource ps:propertySources){
+                PropertyValue val = sourceProperties.get(ps).get(key);
+                if(isPresent(val)){
+                    merged = val;
+                }
+            }
+            if(merged==null){
+                rawProperties.remove(key);
+                updates.put(key, null);
+            }else{
+                rawProperties.put(key, merged);
+                updates.put(key, merged.getValue());
+            }
+        }
+        if(context.getPropertyFilters().isEmpty()){
+            properties = properties.with(updates);
+        }else{
+            // filters may access all raw values, so a change of one key may change the result of any other key.
+            properties = new OverlayMap(filterAll(), Collections.emptyMap(), 0);
+        }
+    }
+
+    private static boolean isPresent(PropertyValue val){
+        return val!=null && (val.getValueType() != PropertyValue.ValueType.VALUE || val.getValue() != null);
+    }
+
+    /**
+     * Immutable map consisting of an immutable base map and the changes applied since. Applying changes creates
+     * a new map sharing the base map, so only the changes are copied. The changes are merged into a new base
+     * map, once they exceed a fraction of the base map's size.
+     */
+    static final class OverlayMap extends AbstractMap<String, String> {
+
+        /** The base map, never modified. */
+        private final Map<String, String> base;
+        /** The changes, a {@code null} value marks a key removed from the base map. Never modified. */
+        private final Map<String, String> changes;
+        private final int size;
+
+        /**
+         * Creates a new map.
+         * @param base the base map, not modified anymore after being passed.
+         * @param changes the changes, not modified anymore after being passed.
+         * @param sizeDelta the number of entries added by the changes minus the entries removed.
+         */
+        OverlayMap(Map<String, String> base, Map<String, String> changes, int sizeDelta){
+            this.base = base;
+            this.changes = changes;
+            this.size = base.size() + sizeDelta;
+        }
+
+        /**
+         * Creates a new map with the given changes applied.
+         * @param updates the new values by key, a {@code null} value removes the key.
+         * @return the new map, or this map, if nothing changed.
+         */
+        OverlayMap with(Map<String, String> updates){
+            Map<String, String> newChanges = new HashMap<>(changes);
+            int newSize = size;
+            for(Map.Entry<String, String> en:updates.entrySet()){
+                String key = en.getKey();
+                String value = en.getValue();
+                if(containsKey(key)){
+                    newSize -= value==null?1:0;
+                }else if(value!=null){
+                    newSize++;
+                }
+                if(Objects.equals(value, base.get(key)) && (value!=null || !base.containsKey(key))){
+                    newChanges.remove(key);
+                }else{
+                    newChanges.put(key, value);
+                }
+            }
+            if(newChanges.equals(changes)){
+                return this;
+            }
+            if(newChanges.size() > 16 + base.size() / 8){
+                Map<String, String> newBase = new HashMap<>(base);
+                for(Map.Entry<String, String> en:newChanges.entrySet()){
+                    if(en.getValue()==null){
+                        newBase.remove(en.getKey());
+                    }else{
+                        newBase.put(en.getKey(), en.getValue());
+                    }
+                }
+                return new OverlayMap(newBase, Collections.emptyMap(), 0);
+            }
+            return new OverlayMap(base, newChanges, newSize - base.size());
+        }
+
+        @Override
+        public String get(Object key) {
+            if(changes.containsKey(key)){
+                return changes.get(key);
+            }
+            return base.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if(changes.containsKey(key)){
+                return changes.get(key)!=null;
+            }
+            return base.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    Iterator<Entry<String, String>> baseEntries = base.entrySet().stream()
+                            .filter(en -> !changes.containsKey(en.getKey()))
+                            .iterator();
+                    Iterator<Entry<String, String>> changedEntries = changes.entrySet().stream()
+                            .filter(en -> en.getValue()!=null)
+                            .iterator();
+                    return new Iterator<Entry<String, String>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return baseEntries.hasNext() || changedEntries.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            Entry<String, String> en = baseEntries.hasNext()?baseEntries.next():changedEntries.next();
+                            return new SimpleImmutableEntry<>(en);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResolvedPropertiesView{" +
+                "evaluated=" + (properties!=null) +
+                ", incremental=" + incremental +
+                '}';
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.ChangeSupport;
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertySource;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Cache for the resolved (evaluated and filtered) values of a {@link DefaultConfiguration}. Entries are tagged
+ * with a generation, which is incremented whenever one of the underlying property sources reports a change,
+ * either by calling its change listeners or by providing a new {@link PropertySource#getVersion()}. A cache
+ * hit hereby is a single hash lookup, not touching any filter or the values of any property source.
+ *
+ * <p>Not all property sources notify their listeners on their own, e.g. the system properties are only checked
+ * for changes when being accessed. So the versions of all changeable property sources are also polled on cache
+ * hits, at most once within the interval configured, see {@link SourceVersions}.</p>
+ *
+ * <p>The values are cached by key, including keys not found, up to the limit defined by {@link CacheLimits}.</p>
+ *
+ * <p>Caching is only possible, if all property sources are either {@link ChangeSupport#IMMUTABLE} or
+ * {@link ChangeSupport#SUPPORTED}, since otherwise changes cannot be detected. Caching is also disabled by
+ * default, since it assumes the registered filters to be deterministic. It can be enabled by setting the
+ * {@code tamaya.cache.enabled} system or environment property to {@code true}.</p>
+ */
+final class ResolvedValueCache {
+
+    private static final Logger LOG = Logger.getLogger(ResolvedValueCache.class.getName());
+
+    /** The system or environment property to enable caching. */
+    static final String ENABLED_PROPERTY = "tamaya.cache.enabled";
+
+    /** Marker returned, if no valid cache entry is present. */
+    static final Object MISS = new Object();
+
+    /** The current generation, incremented on each change detected. */
+    private final AtomicLong generation = new AtomicLong();
+    /** The cached values accessed by {@code get(String)}. */
+    private final ConcurrentHashMap<String, Entry> values = new ConcurrentHashMap<>();
+    /** The cached value lists accessed by {@code getValues(String)}. */
+    private final ConcurrentHashMap<String, Entry> valueLists = new ConcurrentHashMap<>();
+    /** The versions of the property sources, which must be checked for changes. */
+    private final SourceVersions versions;
+    /** The context. */
+    private final ConfigurationContext context;
+    /** The properties returned by {@code getProperties()}, created on first access. */
+    private volatile ResolvedPropertiesView propertiesView;
+
+    /**
+     * Creates a new instance, hereby registering change listeners on all changeable property sources.
+     * @param context the context, not null.
+     */
+    ResolvedValueCache(ConfigurationContext context){
+        this.context = Objects.requireNonNull(context);
+        List<PropertySource> sources = context.getPropertySources();
+        PropertySource[] versionedSources = sources.stream()
+                .filter(ps -> ps.getChangeSupport()==ChangeSupport.SUPPORTED)
+                .toArray(PropertySource[]::new);
+        this.versions = new SourceVersions(versionedSources);
+        Invalidator invalidator = new Invalidator(this);
+        for(PropertySource ps:versionedSources){
+            ps.addChangeListener(invalidator);
+        }
+    }
+
+    /**
+     * Creates a new cache for the given context, if caching is enabled and all property sources of the
+     * context support change detection.
+     * @param context the context, not null.
+     * @return the new cache, or {@code null}.
+     */
+    static ResolvedValueCache of(ConfigurationContext context){
+        String value = System.getProperty(ENABLED_PROPERTY);
+        if(value==null){
+            value = System.getenv(ENABLED_PROPERTY);
+        }
+        if(!Boolean.parseBoolean(value)){
+            return null;
+        }
+        if(!isCacheable(context)){
+            LOG.fine("Value caching disabled, since not all property sources support change detection.");
+            return null;
+        }
+        return new ResolvedValueCache(context);
+    }
+
+    /**
+     * Checks if all property sources of the given context allow detecting changes.
+     * @param context the context, not null.
+     * @return true, if the values resolved from this context can be cached.
+     */
+    static boolean isCacheable(ConfigurationContext context){
+        for(PropertySource ps:context.getPropertySources()){
+            if(ps.getChangeSupport()==ChangeSupport.UNSUPPORTED){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the current generation. The generation must be evaluated <b>before</b> evaluating the value to be
+     * cached.
+     * @return the current generation.
+     */
+    long getGeneration(){
+        return generation.get();
+    }
+
+    /**
+     * Access a cached value.
+     * @param key the key, not null.
+     * @return the cached value (including {@code null}), or {@link #MISS}.
+     */
+    Object getValue(String key){
+        return lookup(values, key);
+    }
+
+    /**
+     * Caches a value.
+     * @param key the key, not null.
+     * @param value the value, may be null.
+     * @param generation the generation evaluated before the value was evaluated.
+     */
+    void putValue(String key, Object value, long generation){
+        CacheLimits.put(values, key, new Entry(value, generation));
+    }
+
+    /**
+     * Access a cached value list.
+     * @param key the key, not null.
+     * @return the cached value list, or {@link #MISS}.
+     */
+    Object getValues(String key){
+        return lookup(valueLists, key);
+    }
+
+    /**
+     * Caches a value list.
+     * @param key the key, not null.
+     * @param values the values, not null.
+     * @param generation the generation evaluated before the values were evaluated.
+     */
+    void putValues(String key, Object values, long generation){
+        CacheLimits.put(valueLists, key, new Entry(values, generation));
+    }
+
+    /**
+     * Access the properties, as returned by {@code getProperties()}. As long as no changes are detected, the
+     * same map instance is returned.
+     * @param evaluator the evaluator used, not null.
+     * @return the immutable properties, never null.
+     */
+    Map<String, String> getProperties(ConfigValueEvaluator evaluator){
+        checkVersions();
+        ResolvedPropertiesView view = propertiesView;
+        if(view==null){
+            synchronized (this){
+                view = propertiesView;
+                if(view==null){
+                    view = new ResolvedPropertiesView(context, evaluator);
+                    propertiesView = view;
+                }
+            }
+        }
+        return view.getProperties();
+    }
+
+    /**
+     * Invalidates all cached entries.
+     */
+    void invalidate(){
+        generation.incrementAndGet();
+        values.clear();
+        valueLists.clear();
+        ResolvedPropertiesView view = propertiesView;
+        if(view!=null){
+            view.reset();
+        }
+    }
+
+    /**
+     * Invalidates the cached values after a property source reported changes. The properties are only
+     * updated for the keys changed.
+     * @param changedKeys the keys changed, not null.
+     * @param propertySource the property source changed, not null.
+     */
+    void invalidate(Set<String> changedKeys, PropertySource propertySource){
+        versions.versionReported(propertySource);
+        generation.incrementAndGet();
+        values.clear();
+        valueLists.clear();
+        ResolvedPropertiesView view = propertiesView;
+        if(view!=null){
+            view.keysChanged(changedKeys, propertySource);
+        }
+    }
+
+    private Object lookup(ConcurrentHashMap<String, Entry> cache, String key){
+        Entry entry = cache.get(key);
+        if(entry!=null && entry.generation==generation.get()){
+            if(!versions.isRefreshDue()){
+                return entry.value;
+            }
+            checkVersions();
+            if(entry.generation==generation.get()){
+                return entry.value;
+            }
+            return MISS;
+        }
+        // A miss requires a full evaluation anyway, so check for unreported changes now.
+        checkVersions();
+        return MISS;
+    }
+
+    private void checkVersions(){
+        if(versions.checkVersions()){
+            invalidate();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ResolvedValueCache{" +
+                "generation=" + generation +
+                ", values=" + values.size() +
+                ", valueLists=" + valueLists.size() +
+                '}';
+    }
+
+    /**
+     * A cached value, tagged with the generation it was evaluated for.
+     */
+    private static final class Entry{
+        private final Object value;
+        private final long generation;
+
+        Entry(Object value, long generation){
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Change listener invalidating the cache. The cache is only weakly referenced, so registering the
+     * listener does not prevent the configuration from being garbage collected.
+     */
+    private static final class Invalidator implements BiConsumer<Set<String>, PropertySource>{
+        private final WeakReference<ResolvedValueCache> cacheRef;
+
+        Invalidator(ResolvedValueCache cache){
+            this.cacheRef = new WeakReference<>(cache);
+        }
+
+        @Override
+        public void accept(Set<String> changedKeys, PropertySource propertySource) {
+            ResolvedValueCache cache = cacheRef.get();
+            if(cache==null){
+                propertySource.removeChangeListener(this);
+            }else{
+                cache.invalidate(changedKeys, propertySource);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.FilterContext;
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filter context used for filtering many values as part of all properties, so a single context instance is
+ * created for all values instead of one per value. The value under evaluation is replaced by
+ * {@link #setProperty(PropertyValue)} before filtering the next value. Filters therefore must not keep
+ * references to the context.
+ */
+final class ReusableFilterContext extends FilterContext {
+
+    private PropertyValue property;
+    private List<PropertyValue> values;
+
+    /**
+     * Creates a new context.
+     * @param configEntries the raw properties, not null. The map is not copied and must not be changed while
+     *                      filtering.
+     * @param configurationContext the context, not null.
+     */
+    ReusableFilterContext(Map<String, PropertyValue> configEntries, ConfigurationContext configurationContext){
+        super(configEntries, configurationContext, false);
+    }
+
+    /**
+     * Sets the value under evaluation.
+     * @param property the value, not null.
+     * @return this instance, for chaining.
+     */
+    ReusableFilterContext setProperty(PropertyValue property){
+        this.property = property;
+        this.values = null;
+        return this;
+    }
+
+    @Override
+    public PropertyValue getProperty() {
+        return property;
+    }
+
+    @Override
+    public List<PropertyValue> getAllValues() {
+        if(values==null){
+            values = property==null?Collections.emptyList():Collections.singletonList(property);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+
+import java.util.List;
+import java.util.ListIterator;
+
+
+/**
+ * Evaluator, which evaluates single values by walking the property sources starting with the most significant
+ * one (the last in the list, usually with the highest ordinal) and stopping with the first property source
+ * returning a value. This results in the same values as {@link DefaultConfigValueEvaluator}, but does not
+ * access less significant property sources, once a value has been found.
+ *
+ * <p>This evaluator can be activated by registering it as {@link ConfigValueEvaluator} service, e.g. in
+ * {@code META-INF/services/org.apache.tamaya.spisupport.ConfigValueEvaluator}.</p>
+ */
+public class ReverseOrderConfigValueEvaluator extends DefaultConfigValueEvaluator{
+
+    @Override
+    public PropertyValue evaluateRawValue(String key, ConfigurationContext context) {
+        List<PropertySource> propertySources = PropertySourceIndex.getPropertySources(context, key);
+        ListIterator<PropertySource> iterator = propertySources.listIterator(propertySources.size());
+        while (iterator.hasPrevious()) {
+            PropertyValue val = iterator.previous().get(key);
+            if(val!=null){
+                if(val.getValueType()== PropertyValue.ValueType.VALUE && val.getValue()==null){
+                    return null;
+                }
+                return val;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "ReverseOrderConfigValueEvaluator{}";
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.PropertySource;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The last versions seen from a set of property sources, used by caches for detecting changes not reported to
+ * change listeners. Some property sources only detect changes when being accessed, e.g. the system properties,
+ * which are hashed as a whole for this. So the versions are polled on cache hits at most once within the
+ * interval configured by {@code tamaya.cache.refresh} (system property or environment variable, in
+ * milliseconds, default {@value #DEFAULT_REFRESH}). {@code 0} polls on each cache hit, a negative value only
+ * when a value must be evaluated anyway.
+ */
+final class SourceVersions {
+
+    private static final Logger LOG = Logger.getLogger(SourceVersions.class.getName());
+
+    /** The system or environment property to configure the interval in milliseconds for polling versions. */
+    static final String REFRESH_PROPERTY = "tamaya.cache.refresh";
+    /** The default polling interval in milliseconds. */
+    static final long DEFAULT_REFRESH = 1000;
+
+    /** The property sources. */
+    private final PropertySource[] sources;
+    /** The last versions seen from {@link #sources}. */
+    private final AtomicReferenceArray<String> versions;
+    /** The polling interval in nanoseconds, 0 for polling on each hit, negative for not polling on hits. */
+    private final long refreshInterval;
+    /** The {@link System#nanoTime()} after which versions are polled again on a cache hit. */
+    private volatile long nextRefresh;
+
+    /**
+     * Creates a new instance, hereby reading the current versions.
+     * @param sources the property sources, not null.
+     */
+    SourceVersions(PropertySource[] sources){
+        this.sources = Objects.requireNonNull(sources);
+        this.versions = new AtomicReferenceArray<>(sources.length);
+        for(int i=0;i<sources.length;i++){
+            versions.set(i, sources[i].getVersion());
+        }
+        this.refreshInterval = loadRefreshInterval();
+        this.nextRefresh = System.nanoTime() + Math.max(0, refreshInterval);
+    }
+
+    private static long loadRefreshInterval(){
+        String value = System.getProperty(REFRESH_PROPERTY);
+        if(value==null){
+            value = System.getenv(REFRESH_PROPERTY);
+        }
+        if(value!=null && !value.isEmpty()){
+            try{
+                long millis = Long.parseLong(value.trim());
+                return millis<0?-1:TimeUnit.MILLISECONDS.toNanos(millis);
+            }catch(NumberFormatException e){
+                LOG.log(Level.WARNING, "Invalid " + REFRESH_PROPERTY + " value, using default: " + value, e);
+            }
+        }
+        return TimeUnit.MILLISECONDS.toNanos(DEFAULT_REFRESH);
+    }
+
+    /**
+     * Checks, if the versions should be polled on a cache hit. If so, the next poll is scheduled.
+     * @return true, if the versions should be polled now.
+     */
+    boolean isRefreshDue(){
+        long interval = this.refreshInterval;
+        if(interval<=0){
+            return interval==0;
+        }
+        long now = System.nanoTime();
+        if(now - nextRefresh < 0){
+            return false;
+        }
+        nextRefresh = now + interval;
+        return true;
+    }
+
+    /**
+     * Polls the versions of all property sources. Accessing a version may detect changes and notify the
+     * change listeners, which may update the versions by {@link #versionReported(PropertySource)} before.
+     * @return true, if a version changed, which was not reported before.
+     */
+    boolean checkVersions(){
+        boolean changed = false;
+        for (int i = 0; i < sources.length; i++) {
+            String version = sources[i].getVersion();
+            String seen = versions.get(i);
+            if (!Objects.equals(version, seen) && versions.compareAndSet(i, seen, version)) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Updates the version of a property source, whose change has already been handled, so the new version
+     * is not treated as unreported change.
+     * @param propertySource the property source, not null.
+     */
+    void versionReported(PropertySource propertySource){
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] == propertySource) {
+                versions.set(i, propertySource.getVersion());
+            }
+        }
+    }
+}
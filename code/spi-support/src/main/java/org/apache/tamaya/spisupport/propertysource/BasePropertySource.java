@@ -38,6 +38,10 @@ public abstract class BasePropertySource implements PropertySource{
     private Integer ordinal;
     /** The name of the property source. */
     private String name;
+    /** The ordinal evaluated from the properties with the version it has been evaluated for, or {@code null}. */
+    private volatile CachedOrdinal cachedOrdinal;
+    /** The metadata shared by the values of this property source. */
+    private volatile PropertyValue.SharedMeta sourceMeta;
 
     /**
      * If true, this property source does not return any properties. This is useful since this
@@ -90,6 +94,21 @@ public abstract class BasePropertySource implements PropertySource{
         return name;
     }
 
+    /**
+     * Get the metadata containing this property source's name as {@code source} entry, which is shared by all
+     * values created using {@link PropertyValue#createValue(String, String, PropertyValue.SharedMeta)}.
+     * @return the shared metadata, never null.
+     */
+    protected final PropertyValue.SharedMeta getSourceMeta(){
+        String name = getName();
+        PropertyValue.SharedMeta meta = this.sourceMeta;
+        if(meta==null || !name.equals(meta.getMeta().get("source"))){
+            meta = PropertyValue.createSharedMeta(name);
+            this.sourceMeta = meta;
+        }
+        return meta;
+    }
+
     /**
      * Sets the property source's (unique) name.
      * @param name the name, not {@code null}.
@@ -105,6 +124,7 @@ public abstract class BasePropertySource implements PropertySource{
      */
     public void setOrdinal(Integer ordinal){
         this.ordinal = ordinal;
+        resetCachedOrdinal();
     }
 
     /**
@@ -114,15 +134,48 @@ public abstract class BasePropertySource implements PropertySource{
      */
     public void setDefaultOrdinal(Integer defaultOrdinal){
         this.defaultOrdinal = defaultOrdinal;
+        resetCachedOrdinal();
     }
 
+    /**
+     * Get the ordinal of this property source. If no ordinal has been set explicitly, the ordinal is evaluated
+     * from the {@link #TAMAYA_ORDINAL} property, falling back to the default ordinal. Unless changes are
+     * {@link ChangeSupport#UNSUPPORTED unsupported}, the ordinal evaluated is cached as long as the property
+     * source's version does not change and {@link #resetCachedOrdinal()} is not called.
+     * @return the ordinal.
+     */
     public int getOrdinal() {
         Integer ordinal = this.ordinal;
         if(ordinal!=null){
-            Logger.getLogger(getClass().getName()).finest(
-                    "Using explicit ordinal '"+ordinal+"' for property source: " + getName());
+            Logger log = Logger.getLogger(getClass().getName());
+            if(log.isLoggable(Level.FINEST)) {
+                log.finest("Using explicit ordinal '" + ordinal + "' for property source: " + getName());
+            }
             return ordinal;
         }
+        ChangeSupport changeSupport = getChangeSupport();
+        if(changeSupport==ChangeSupport.UNSUPPORTED){
+            return evaluateOrdinal();
+        }
+        String version = getVersion();
+        CachedOrdinal cached = this.cachedOrdinal;
+        if(cached!=null && Objects.equals(version, cached.version)){
+            return cached.ordinal;
+        }
+        int evaluated = evaluateOrdinal();
+        this.cachedOrdinal = new CachedOrdinal(version, evaluated);
+        return evaluated;
+    }
+
+    /**
+     * Resets the cached ordinal, so it is evaluated again on the next access. Subclasses must call this method,
+     * if they change the properties of an immutable property source, e.g. when being reconfigured.
+     */
+    protected void resetCachedOrdinal(){
+        this.cachedOrdinal = null;
+    }
+
+    private int evaluateOrdinal() {
         PropertyValue configuredOrdinal = get(TAMAYA_ORDINAL);
         if(configuredOrdinal!=null){
             try {
@@ -208,4 +261,18 @@ public abstract class BasePropertySource implements PropertySource{
         this.changeSupport = Objects.requireNonNull(changeSupport);
         return this;
     }
+
+    /**
+     * An evaluated ordinal together with the version it has been evaluated for, published as a whole.
+     */
+    private static final class CachedOrdinal {
+        private final String version;
+        private final int ordinal;
+
+        CachedOrdinal(String version, int ordinal){
+            this.version = version;
+            this.ordinal = ordinal;
+        }
+    }
+
 }
@@ -22,6 +22,7 @@ import org.apache.tamaya.spi.ChangeSupport;
 import org.apache.tamaya.spi.PropertyValue;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * PropertySource that allows adding the program's main arguments as configuration entries. Unix syntax using '--' and
@@ -35,6 +36,9 @@ public class CLIPropertySource extends BasePropertySource {
     /** The mapProperties of parsed main arguments. */
     private static Map<String,PropertyValue> mainArgs;
 
+    /** The version of the main arguments, changed with each call to {@link #initMainArgs(String...)}. */
+    private static final AtomicLong VERSION = new AtomicLong();
+
     /** Initializes the initial state. */
     static{
         initMainArgs(args);
@@ -118,11 +122,17 @@ public class CLIPropertySource extends BasePropertySource {
             }
         }
         Map<String,PropertyValue> finalProps = new HashMap<>();
+        PropertyValue.SharedMeta meta = PropertyValue.createSharedMeta("main-args");
         for(Map.Entry<String,String> en:result.entrySet()) {
-            finalProps.put(en.getKey(),
-                    PropertyValue.createValue(en.getKey(), en.getValue()).setMeta("source", "main-args"));
+            finalProps.put(en.getKey(), PropertyValue.createValue(en.getKey(), en.getValue(), meta));
         }
         CLIPropertySource.mainArgs = Collections.unmodifiableMap(finalProps);
+        VERSION.incrementAndGet();
+    }
+
+    @Override
+    public String getVersion() {
+        return String.valueOf(VERSION.get());
     }
 
     @Override
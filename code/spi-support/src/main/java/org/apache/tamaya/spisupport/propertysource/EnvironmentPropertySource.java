@@ -20,10 +20,13 @@ package org.apache.tamaya.spisupport.propertysource;
 
 import org.apache.tamaya.spi.ChangeSupport;
 import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.CacheLimits;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <p>{@link org.apache.tamaya.spi.PropertySource} to access environment variables via Tamaya
@@ -113,6 +116,12 @@ public class EnvironmentPropertySource extends BasePropertySource {
 
     private SystemPropertiesProvider propertiesProvider = new SystemPropertiesProvider();
 
+    /**
+     * The lookup results by requested key, including keys not found. Since the environment cannot change,
+     * the (up to three) environment lookups for a key have to be done only once.
+     */
+    private final Map<String, Optional<PropertyValue>> cachedValues = new ConcurrentHashMap<>();
+
     /**
      * Creates a new instance. Also initializes the {@code prefix} and {@code disabled} properties
      * from the system-/ environment properties:
@@ -210,13 +219,22 @@ Replace the character that is neither alphanumeric nor _ with _ and convert to u
         if (isDisabled()) {
             return null;
         }
+        Optional<PropertyValue> value = cachedValues.get(key);
+        if (value == null) {
+            value = Optional.ofNullable(lookup(key));
+            CacheLimits.put(cachedValues, key, value);
+        }
+        return value.orElse(null);
+    }
+
+    private PropertyValue lookup(String key) {
         // Exact match (i.e. com.ACME.getNumChilds)
         String effectiveKey = hasPrefix() ? getPrefix() + "." + key
                 : key;
         String value = getPropertiesProvider().getenv(effectiveKey);
         // Replace all . by _ (i.e. com_ACME_size)
         if(value==null){
-            effectiveKey = effectiveKey.replaceAll("\\W", "_");
+            effectiveKey = replaceNonWordCharacters(effectiveKey);
             value = getPropertiesProvider().getenv(effectiveKey);
         }
         // Replace all . by _ and convert to upper case (i.e. COM_ACME_SIZE)
@@ -227,9 +245,40 @@ Replace the character that is neither alphanumeric nor _ with _ and convert to u
         if(value==null){
             return null;
         }
-        return PropertyValue.createValue(key, value).setMeta("source", getName());
+        return PropertyValue.createValue(key, value, getSourceMeta());
     }
 
+    /**
+     * Replaces all characters, which are neither alphanumeric nor {@code _} with {@code _}, the same as
+     * {@code key.replaceAll("\\W", "_")}, but without using a regular expression.
+     * @param key the key, not null.
+     * @return the key with all non word characters replaced.
+     */
+    static String replaceNonWordCharacters(String key) {
+        StringBuilder b = null;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (isWordCharacter(c)) {
+                if (b != null) {
+                    b.append(c);
+                }
+                continue;
+            }
+            if (b == null) {
+                b = new StringBuilder(key.length()).append(key, 0, i);
+            }
+            b.append('_');
+            // a supplementary character is replaced as a whole
+            if (Character.isHighSurrogate(c) && i + 1 < key.length() && Character.isLowSurrogate(key.charAt(i + 1))) {
+                i++;
+            }
+        }
+        return b == null ? key : b.toString();
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
 
     private boolean hasPrefix() {
         return null != prefix && prefix.isEmpty();
@@ -241,18 +290,18 @@ Replace the character that is neither alphanumeric nor _ with _ and convert to u
             return Collections.emptyMap();
         }
         String prefix = this.prefix;
+        PropertyValue.SharedMeta meta = getSourceMeta();
         if(prefix==null) {
             Map<String, PropertyValue> entries = new HashMap<>(System.getenv().size());
             for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
-                entries.put(entry.getKey(), PropertyValue.createValue(entry.getKey(), entry.getValue())
-                        .setMeta("source", getName()));
+                entries.put(entry.getKey(), PropertyValue.createValue(entry.getKey(), entry.getValue(), meta));
             }
             return entries;
         }else{
             Map<String, PropertyValue> entries = new HashMap<>(System.getenv().size());
             for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
-                entries.put(prefix + entry.getKey(), PropertyValue.createValue(prefix + entry.getKey(), entry.getValue())
-                        .setMeta("source", getName()));
+                entries.put(prefix + entry.getKey(), PropertyValue.createValue(prefix + entry.getKey(),
+                        entry.getValue(), meta));
             }
             return entries;
         }
@@ -269,6 +318,8 @@ Replace the character that is neither alphanumeric nor _ with _ and convert to u
     void setPropertiesProvider(SystemPropertiesProvider spp) {
         propertiesProvider = spp;
         initFromSystemProperties();
+        cachedValues.clear();
+        resetCachedOrdinal();
     }
 
     SystemPropertiesProvider getPropertiesProvider() {
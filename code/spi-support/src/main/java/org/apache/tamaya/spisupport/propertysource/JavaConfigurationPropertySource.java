@@ -27,6 +27,8 @@ import org.apache.tamaya.spisupport.PropertySourceComparator;
 
 import java.net.URL;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Provider which reads all {@value DEFAULT_SIMPLE_PROPERTIES_FILE_NAME} and
@@ -34,6 +36,9 @@ import java.util.*;
  * classpath. By setting
  * {@code tamaya.defaultprops.disable} or {@code tamaya.defaults.disable}
  * as system or environment property this feature can be disabled.
+ *
+ * <p>The resources are loaded in parallel by {@link #init(ClassLoader)} and merged once by ordinal, so
+ * {@link #getProperties()} returns the same immutable map until the property source is initialized again.</p>
  */
 public class JavaConfigurationPropertySource extends BasePropertySource implements ClassloaderAware {
     /**
@@ -52,7 +57,10 @@ public class JavaConfigurationPropertySource extends BasePropertySource implemen
 
     private ClassLoader classLoader;
 
-    private List<PropertySource> propertySources = new ArrayList<>();
+    private List<PropertySource> propertySources = Collections.emptyList();
+
+    /** The merged properties of all resources loaded. */
+    private volatile Map<String, PropertyValue> properties = Collections.emptyMap();
 
 
     public JavaConfigurationPropertySource(){
@@ -76,20 +84,21 @@ public class JavaConfigurationPropertySource extends BasePropertySource implemen
         return value.isEmpty() || !Boolean.parseBoolean(value);
     }
 
-    private List<PropertySource> getPropertySources() {
-        return this.propertySources;
-    }
-
-    private Collection<? extends PropertySource> loadPropertySourcesByName(String filename, ClassLoader classLoader) {
-        List<PropertySource> propertySources = new ArrayList<>();
-        Collection<URL> propertyLocations = ServiceContextManager.getServiceContext(classLoader)
-                    .getResources(filename);
-
-        for (URL currentUrl:propertyLocations) {
-            propertySources.add(new SimplePropertySource(currentUrl));
+    /**
+     * Loads all resources with the given names. Multiple resources are read in parallel.
+     * @param classLoader the class loader, not null.
+     * @param filenames the resource names.
+     * @return the property sources, in order of the names and the resources found, never null.
+     */
+    private List<PropertySource> loadPropertySourcesByName(ClassLoader classLoader, String... filenames) {
+        List<URL> propertyLocations = new ArrayList<>();
+        for(String filename:filenames) {
+            propertyLocations.addAll(ServiceContextManager.getServiceContext(classLoader)
+                    .getResources(filename));
         }
-        propertySources.sort(PropertySourceComparator.getInstance());
-        return propertySources;
+        Stream<URL> locations = propertyLocations.size()<2?propertyLocations.stream():
+                propertyLocations.parallelStream();
+        return locations.map(SimplePropertySource::new).collect(Collectors.toCollection(ArrayList::new));
     }
 
     public boolean isEnabled() {
@@ -98,6 +107,7 @@ public class JavaConfigurationPropertySource extends BasePropertySource implemen
 
     public void setEnabled(boolean enabled){
         this.enabled = enabled;
+        resetCachedOrdinal();
     }
 
 
@@ -106,11 +116,7 @@ public class JavaConfigurationPropertySource extends BasePropertySource implemen
         if (!isEnabled()) {
             return Collections.emptyMap();
         }
-        Map<String,PropertyValue> result = new HashMap<>();
-        for(PropertySource ps:getPropertySources()){
-            result.putAll(ps.getProperties());
-        }
-        return result;
+        return properties;
     }
 
     @Override
@@ -122,15 +128,23 @@ public class JavaConfigurationPropertySource extends BasePropertySource implemen
     public String toString() {
         return "JavaConfigurationPropertySource{" +
                 "enabled=" + enabled +
+                ", resources=" + propertySources.size() +
                 '}';
     }
 
     @Override
     public void init(ClassLoader classLoader) {
         this.classLoader = Objects.requireNonNull(classLoader);
-        propertySources.addAll(loadPropertySourcesByName(DEFAULT_SIMPLE_PROPERTIES_FILE_NAME, classLoader));
-        propertySources.addAll(loadPropertySourcesByName(DEFAULT_XML_PROPERTIES_FILE_NAME, classLoader));
-        Collections.sort(propertySources, PropertySourceComparator.getInstance());
+        List<PropertySource> loaded = loadPropertySourcesByName(classLoader,
+                DEFAULT_SIMPLE_PROPERTIES_FILE_NAME, DEFAULT_XML_PROPERTIES_FILE_NAME);
+        loaded.sort(PropertySourceComparator.getInstance());
+        Map<String,PropertyValue> result = new HashMap<>();
+        for(PropertySource ps:loaded){
+            result.putAll(ps.getProperties());
+        }
+        this.propertySources = Collections.unmodifiableList(loaded);
+        this.properties = Collections.unmodifiableMap(result);
+        resetCachedOrdinal();
     }
 
     @Override
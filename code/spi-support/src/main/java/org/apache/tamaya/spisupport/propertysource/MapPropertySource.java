@@ -104,24 +104,23 @@ public class MapPropertySource extends BasePropertySource {
 
     public void setPrefix(String prefix) {
         this.prefix = prefix;
+        resetCachedOrdinal();
     }
 
     protected Map<String,PropertyValue> mapProperties(Map<String, String> props, long timestamp) {
         Map<String,PropertyValue> result = new HashMap<>();
-        String timestampVal = String.valueOf(timestamp);
+        Map<String,String> metaEntries = new HashMap<>();
+        metaEntries.put("source", getName());
+        metaEntries.put("timestamp", String.valueOf(timestamp));
+        PropertyValue.SharedMeta meta = PropertyValue.createSharedMeta(metaEntries);
         if (prefix == null) {
             for (Map.Entry<String, String> en : props.entrySet()) {
-                result.put(en.getKey(),
-                        PropertyValue.createValue(en.getKey(), en.getValue())
-                                .setMeta("source", getName())
-                                .setMeta("timestamp", timestampVal));
+                result.put(en.getKey(), PropertyValue.createValue(en.getKey(), en.getValue(), meta));
             }
         } else {
             for (Map.Entry<String, String> en : props.entrySet()) {
                 result.put(prefix + en.getKey(),
-                        PropertyValue.createValue(prefix + en.getKey(), en.getValue())
-                                .setMeta("source", getName())
-                                .setMeta("timestamp", timestampVal));
+                        PropertyValue.createValue(prefix + en.getKey(), en.getValue(), meta));
             }
         }
         return result;
@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport.propertysource;
+
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.FileWatcher;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Parser for the {@code .properties} format as read by {@link java.util.Properties#load(InputStream)}. The
+ * input is read as ISO 8859-1 directly from a {@link ByteBuffer} and the values are added to the resulting map
+ * as {@link PropertyValue} instances, without populating an intermediate {@link java.util.Properties} instance.
+ * Larger files are memory mapped, other resources are streamed using a small buffer. Keys are interned.
+ */
+final class PropertiesParser {
+
+    /** The minimal file size, for which files are memory mapped. */
+    private static final int MAP_THRESHOLD = 1 << 20;
+    /** The size of the buffer used for streaming. */
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ByteBuffer buffer;
+    /** The channel to refill the buffer from, or null, if the buffer contains all data. */
+    private final ReadableByteChannel channel;
+    private final PropertyValue.SharedMeta meta;
+    private char[] line = new char[256];
+
+    private PropertiesParser(ByteBuffer buffer, ReadableByteChannel channel, String source){
+        this.buffer = buffer;
+        this.channel = channel;
+        this.meta = source==null?null:PropertyValue.createSharedMeta(source);
+    }
+
+    /**
+     * Parses the properties read from the given URL.
+     * @param url the URL, not null.
+     * @param source the source added as meta entry, or null.
+     * @return the properties parsed, never null.
+     * @throws IOException if reading fails.
+     * @throws IllegalArgumentException if the input contains a malformed unicode escape.
+     */
+    static Map<String, PropertyValue> parse(URL url, String source) throws IOException {
+        Path file = FileWatcher.toPath(Objects.requireNonNull(url));
+        if(file!=null){
+            try(FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)){
+                long size = fileChannel.size();
+                if(size>=MAP_THRESHOLD && size<=Integer.MAX_VALUE){
+                    return parse(fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size), source);
+                }
+                return parse(fileChannel, source);
+            }
+        }
+        try(InputStream is = url.openStream()){
+            return parse(Channels.newChannel(is), source);
+        }
+    }
+
+    /**
+     * Parses the properties read from the given channel.
+     * @param channel the channel, not null.
+     * @param source the source added as meta entry, or null.
+     * @return the properties parsed, never null.
+     * @throws IOException if reading fails.
+     */
+    static Map<String, PropertyValue> parse(ReadableByteChannel channel, String source) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.flip();
+        return new PropertiesParser(buffer, Objects.requireNonNull(channel), source).parse();
+    }
+
+    /**
+     * Parses the properties contained in the given buffer.
+     * @param buffer the buffer, not null.
+     * @param source the source added as meta entry, or null.
+     * @return the properties parsed, never null.
+     */
+    static Map<String, PropertyValue> parse(ByteBuffer buffer, String source) {
+        try {
+            return new PropertiesParser(buffer, null, source).parse();
+        } catch (IOException e) {
+            // cannot happen without channel
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, PropertyValue> parse() throws IOException {
+        Map<String, PropertyValue> result = new HashMap<>();
+        int limit;
+        while((limit = readLine())>=0){
+            int keyLen = 0;
+            int valueStart = limit;
+            boolean hasSep = false;
+            boolean precedingBackslash = false;
+            while(keyLen<limit){
+                char c = line[keyLen];
+                if((c=='=' || c==':') && !precedingBackslash){
+                    valueStart = keyLen + 1;
+                    hasSep = true;
+                    break;
+                }else if(isWhitespace(c) && !precedingBackslash){
+                    valueStart = keyLen + 1;
+                    break;
+                }
+                precedingBackslash = c=='\\' && !precedingBackslash;
+                keyLen++;
+            }
+            while(valueStart<limit){
+                char c = line[valueStart];
+                if(!isWhitespace(c)){
+                    if(!hasSep && (c=='=' || c==':')){
+                        hasSep = true;
+                    }else{
+                        break;
+                    }
+                }
+                valueStart++;
+            }
+            String key = convert(0, keyLen).intern();
+            String value = convert(valueStart, limit);
+            result.put(key, meta==null?PropertyValue.createValue(key, value):
+                    PropertyValue.createValue(key, value, meta));
+        }
+        return result;
+    }
+
+    /**
+     * Reads the next logical line into {@link #line}, hereby skipping comments and blank lines, removing
+     * leading whitespaces and joining continuation lines.
+     * @return the length of the line, or -1 at the end of the input.
+     */
+    private int readLine() throws IOException {
+        int len = 0;
+        boolean skipWhiteSpace = true;
+        boolean isCommentLine = false;
+        boolean isNewLine = true;
+        boolean appendedLineBegin = false;
+        boolean precedingBackslash = false;
+        boolean skipLF = false;
+        while(true){
+            if(!buffer.hasRemaining() && !fill()){
+                if(len==0 || isCommentLine){
+                    return -1;
+                }
+                if(precedingBackslash){
+                    len--;
+                }
+                return len;
+            }
+            char c = (char)(buffer.get() & 0xFF);
+            if(skipLF){
+                skipLF = false;
+                if(c=='\n'){
+                    continue;
+                }
+            }
+            if(skipWhiteSpace){
+                if(isWhitespace(c)){
+                    continue;
+                }
+                if(!appendedLineBegin && (c=='\r' || c=='\n')){
+                    continue;
+                }
+                skipWhiteSpace = false;
+                appendedLineBegin = false;
+            }
+            if(isNewLine){
+                isNewLine = false;
+                if(c=='#' || c=='!'){
+                    isCommentLine = true;
+                    continue;
+                }
+            }
+            if(c!='\n' && c!='\r'){
+                if(isCommentLine){
+                    continue;
+                }
+                if(len==line.length){
+                    line = Arrays.copyOf(line, len * 2);
+                }
+                line[len++] = c;
+                precedingBackslash = c=='\\' && !precedingBackslash;
+            }else if(isCommentLine || len==0){
+                isCommentLine = false;
+                isNewLine = true;
+                skipWhiteSpace = true;
+                len = 0;
+            }else if(precedingBackslash){
+                // continuation line
+                len--;
+                skipWhiteSpace = true;
+                appendedLineBegin = true;
+                precedingBackslash = false;
+                if(c=='\r'){
+                    skipLF = true;
+                }
+            }else{
+                return len;
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if(channel==null){
+            return false;
+        }
+        buffer.clear();
+        int read;
+        do{
+            read = channel.read(buffer);
+        }while(read==0);
+        buffer.flip();
+        return read>0;
+    }
+
+    /**
+     * Converts a part of {@link #line} into a String, hereby resolving escapes.
+     */
+    private String convert(int start, int end){
+        int escape = start;
+        while(escape<end && line[escape]!='\\'){
+            escape++;
+        }
+        if(escape==end){
+            return new String(line, start, end - start);
+        }
+        StringBuilder b = new StringBuilder(end - start);
+        b.append(line, start, escape - start);
+        int off = escape;
+        while(off<end){
+            char c = line[off++];
+            if(c=='\\' && off<end){
+                c = line[off++];
+                if(c=='u'){
+                    if(off + 4 > end){
+                        throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                    }
+                    int value = 0;
+                    for(int i=0;i<4;i++){
+                        int digit = Character.digit(line[off++], 16);
+                        if(digit<0){
+                            throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+                        }
+                        value = (value << 4) + digit;
+                    }
+                    c = (char)value;
+                }else if(c=='t'){
+                    c = '\t';
+                }else if(c=='r'){
+                    c = '\r';
+                }else if(c=='n'){
+                    c = '\n';
+                }else if(c=='f'){
+                    c = '\f';
+                }
+            }
+            b.append(c);
+        }
+        return b.toString();
+    }
+
+    private static boolean isWhitespace(char c){
+        return c==' ' || c=='\t' || c=='\f';
+    }
+}
@@ -23,18 +23,21 @@ import org.apache.tamaya.spi.ChangeSupport;
 import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
 import org.apache.tamaya.spi.ServiceContextManager;
+import org.apache.tamaya.spisupport.FileWatcher;
 import org.apache.tamaya.spisupport.PropertySourceChangeSupport;
 
-import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Simple {@link org.apache.tamaya.spi.PropertySource}, with a fixed ordinal that reads a .properties file from a given URL.
+ * Files are reloaded as soon as they change, other resources are checked for changes periodically.
  */
 public class PropertiesResourcePropertySource extends BasePropertySource {
     /** The logger used. */
@@ -59,8 +62,7 @@ public class PropertiesResourcePropertySource extends BasePropertySource {
     public PropertiesResourcePropertySource(URL url, String prefix){
         super(url.toExternalForm());
         this.cachedProperties.load(loadProps(url));
-        this.cachedProperties.scheduleChangeMonitor(() -> loadProps(url),
-                120, TimeUnit.SECONDS);
+        monitorChanges(url, () -> loadProps(url));
     }
 
     /**
@@ -79,12 +81,32 @@ public class PropertiesResourcePropertySource extends BasePropertySource {
     public PropertiesResourcePropertySource(String path, ClassLoader cl){
         super(path);
         this.cachedProperties.load(loadProps(path, cl));
-        this.cachedProperties.scheduleChangeMonitor(() -> loadProps(path, cl),
-                120, TimeUnit.SECONDS);
+        URL url = null;
+        try {
+            url = ServiceContextManager.getServiceContext(cl).getResource(path);
+        }catch(Exception e){
+            LOGGER.log(Level.FINE, "Failed to resolve " + path, e);
+        }
+        monitorChanges(url, () -> loadProps(path, cl));
+    }
+
+    /**
+     * Monitors the properties for changes. Files are watched by the {@link FileWatcher}, other resources are
+     * polled every 120 seconds.
+     * @param url the resolved resource URL, or null.
+     * @param propertySupplier the supplier loading the properties, not null.
+     */
+    private void monitorChanges(URL url, Supplier<Map<String, PropertyValue>> propertySupplier){
+        Path file = url==null?null:FileWatcher.toPath(url);
+        if(file!=null && FileWatcher.watch(this, file,
+                () -> this.cachedProperties.load(propertySupplier.get()))!=null){
+            return;
+        }
+        this.cachedProperties.scheduleChangeMonitor(propertySupplier, 120, TimeUnit.SECONDS);
     }
 
     /**
-     * Loads the properties using the JDK's Property loading mechanism.
+     * Loads the properties from a classpath resource.
      * @param path the resource classpath, not null.
      * @return the loaded properties.
      */
@@ -98,16 +120,14 @@ public class PropertiesResourcePropertySource extends BasePropertySource {
     }
 
     /**
-     * Loads the properties using the JDK's Property loading mechanism.
+     * Loads the properties using {@link PropertiesParser}.
      * @param url the resource URL, not null.
      * @return the loaded properties.
      */
     private Map<String, PropertyValue> loadProps(URL url) {
         if(url!=null) {
-            try (InputStream is = url.openStream()) {
-                Properties props = new Properties();
-                props.load(is);
-                return PropertyValue.mapProperties(MapPropertySource.getMap(props), getName());
+            try {
+                return PropertiesParser.parse(url, getName());
             } catch (Exception e) {
                 LOGGER.log(Level.WARNING, "Failed to read properties from " + url, e);
             }
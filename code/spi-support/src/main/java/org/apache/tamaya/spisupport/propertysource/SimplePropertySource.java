@@ -20,29 +20,46 @@ package org.apache.tamaya.spisupport.propertysource;
 
 import org.apache.tamaya.ConfigException;
 import org.apache.tamaya.spi.ChangeSupport;
+import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.FileWatcher;
+import org.apache.tamaya.spisupport.PropertySourceChangeSupport;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 /**
  * Simple implementation of a {@link org.apache.tamaya.spi.PropertySource} for
- * simple property files and XML property files.
+ * simple property files and XML property files. Properties read from a file can be reloaded on change,
+ * see {@link #enableReload()}.
  */
 public class SimplePropertySource extends BasePropertySource {
 
     /**
      * The current properties.
      */
-    private Map<String, PropertyValue> properties = new HashMap<>();
+    private volatile Map<String, PropertyValue> properties = new HashMap<>();
+
+    /**
+     * The location read, or null.
+     */
+    private URL location;
+
+    /**
+     * The change support, if reloading is enabled.
+     */
+    private volatile PropertySourceChangeSupport changeSupport;
 
     /**
      * Creates a new Properties based PropertySource based on the given URL.
@@ -52,7 +69,8 @@ public class SimplePropertySource extends BasePropertySource {
     public SimplePropertySource(File propertiesLocation) {
         super(propertiesLocation.toString(), 0);
         try {
-            this.properties = load(propertiesLocation.toURI().toURL());
+            this.location = propertiesLocation.toURI().toURL();
+            this.properties = load(location);
         } catch (IOException e) {
             throw new ConfigException("Failed to load properties from " + propertiesLocation, e);
         }
@@ -65,6 +83,7 @@ public class SimplePropertySource extends BasePropertySource {
      */
     public SimplePropertySource(URL propertiesLocation) {
         super(propertiesLocation.toString(), 0);
+        this.location = propertiesLocation;
         this.properties = load(Objects.requireNonNull(propertiesLocation));
     }
 
@@ -77,9 +96,9 @@ public class SimplePropertySource extends BasePropertySource {
      */
     public SimplePropertySource(String name, Map<String, String> properties, int defaultOrdinal){
         super(name, defaultOrdinal);
+        PropertyValue.SharedMeta meta = getSourceMeta();
         for(Map.Entry<String,String> en: properties.entrySet()) {
-            this.properties.put(en.getKey(), PropertyValue.createValue(en.getKey(), en.getValue())
-                    .setMeta("source", name));
+            this.properties.put(en.getKey(), PropertyValue.createValue(en.getKey(), en.getValue(), meta));
         }
     }
 
@@ -101,6 +120,7 @@ public class SimplePropertySource extends BasePropertySource {
      */
     public SimplePropertySource(String name, URL propertiesLocation) {
         super(name, 0);
+        this.location = propertiesLocation;
         this.properties = load(propertiesLocation);
     }
 
@@ -126,7 +146,68 @@ public class SimplePropertySource extends BasePropertySource {
 
     @Override
     public ChangeSupport getChangeSupport(){
-        return ChangeSupport.IMMUTABLE;
+        return changeSupport!=null?ChangeSupport.SUPPORTED:ChangeSupport.IMMUTABLE;
+    }
+
+    /**
+     * Enables reloading the properties, whenever the file read changes. Since this changes the
+     * {@link ChangeSupport} reported, reloading must be enabled before this property source is added
+     * to a configuration.
+     *
+     * @return true, if the file is watched for changes, false, if the properties were not read from a file,
+     * or the file cannot be watched.
+     */
+    public synchronized boolean enableReload() {
+        if(changeSupport!=null){
+            return true;
+        }
+        Path file = location==null?null:FileWatcher.toPath(location);
+        if(file==null){
+            return false;
+        }
+        PropertySourceChangeSupport support = new PropertySourceChangeSupport(ChangeSupport.SUPPORTED, this);
+        support.load(properties);
+        if(FileWatcher.watch(this, file, this::reload)==null){
+            return false;
+        }
+        this.changeSupport = support;
+        return true;
+    }
+
+    private void reload() {
+        Map<String, PropertyValue> loaded = load(location);
+        this.properties = loaded;
+        this.changeSupport.load(loaded);
+    }
+
+    @Override
+    public String getVersion() {
+        PropertySourceChangeSupport support = this.changeSupport;
+        return support!=null?support.getVersion():super.getVersion();
+    }
+
+    @Override
+    public void addChangeListener(BiConsumer<Set<String>, PropertySource> l) {
+        PropertySourceChangeSupport support = this.changeSupport;
+        if(support!=null){
+            support.addChangeListener(l);
+        }
+    }
+
+    @Override
+    public void removeChangeListener(BiConsumer<Set<String>, PropertySource> l) {
+        PropertySourceChangeSupport support = this.changeSupport;
+        if(support!=null){
+            support.removeChangeListener(l);
+        }
+    }
+
+    @Override
+    public void removeAllChangeListeners() {
+        PropertySourceChangeSupport support = this.changeSupport;
+        if(support!=null){
+            support.removeAllChangeListeners();
+        }
     }
 
     /**
@@ -138,21 +219,24 @@ public class SimplePropertySource extends BasePropertySource {
      */
     private static Map<String, PropertyValue> load(URL propertiesFile) {
         boolean isXML = isXMLPropertieFiles(propertiesFile);
+        String source = propertiesFile.toString();
+        if (!isXML) {
+            try {
+                return PropertiesParser.parse(propertiesFile, source);
+            } catch (IOException e) {
+                throw new ConfigException("Error loading properties from " + propertiesFile, e);
+            }
+        }
 
         Map<String, PropertyValue> properties = new HashMap<>();
         try (InputStream stream = propertiesFile.openStream()) {
             Properties props = new Properties();
             if (stream != null) {
-                if (isXML) {
-                    props.loadFromXML(stream);
-                } else {
-                    props.load(stream);
-                }
+                props.loadFromXML(stream);
             }
-            String source = propertiesFile.toString();
+            PropertyValue.SharedMeta meta = PropertyValue.createSharedMeta(source);
             for (String key : props.stringPropertyNames()) {
-                properties.put(key, PropertyValue.createValue(key, props.getProperty(key))
-                        .setMeta("source", source));
+                properties.put(key, PropertyValue.createValue(key, props.getProperty(key), meta));
             }
         } catch (IOException e) {
             throw new ConfigException("Error loading properties from " + propertiesFile, e);
@@ -260,9 +344,12 @@ public class SimplePropertySource extends BasePropertySource {
          * @return a reference to this Builder
          */
         public Builder withProperties(Map<String, String> val) {
+            if(val.isEmpty()){
+                return this;
+            }
+            PropertyValue.SharedMeta meta = PropertyValue.createSharedMeta(name);
             for(Map.Entry<String,String> en: val.entrySet()) {
-                this.properties.put(en.getKey(), PropertyValue.createValue(en.getKey(), en.getValue())
-                        .setMeta("source", name));
+                this.properties.put(en.getKey(), PropertyValue.createValue(en.getKey(), en.getValue(), meta));
             }
             return this;
         }
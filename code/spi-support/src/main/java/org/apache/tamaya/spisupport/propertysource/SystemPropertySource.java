@@ -19,19 +19,32 @@
 package org.apache.tamaya.spisupport.propertysource;
 
 import org.apache.tamaya.spi.ChangeSupport;
+import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
 import org.apache.tamaya.spisupport.PropertySourceChangeSupport;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * This {@link org.apache.tamaya.spi.PropertySource} manages the system properties. You can disable this feature by
- * setting {@code tamaya.envprops.disable} or {@code tamaya.defaults.disable}.
+ * setting {@code tamaya.sysprops.disable} or {@code tamaya.defaults.disable}.
+ *
+ * <p>By default the system properties are checked for changes on each access, which requires calculating the
+ * hash code of all system properties. Setting {@code tamaya.sysprops.refresh} to a positive number of
+ * milliseconds checks for changes at most once within this interval, a negative value disables
+ * automatic checks, so changes are only detected when {@link #reload()} is called.</p>
  */
 public class SystemPropertySource extends BasePropertySource {
 
+    private static final Logger LOG = Logger.getLogger(SystemPropertySource.class.getName());
+
     /**
      * default ordinal used.
      */
@@ -39,6 +52,12 @@ public class SystemPropertySource extends BasePropertySource {
 
     private final AtomicInteger savedHashcode = new AtomicInteger();
 
+    /** The refresh interval in milliseconds, 0 for checking on each access, negative for manual reloads only. */
+    private volatile long refreshInterval;
+
+    /** The {@link System#nanoTime()} after which the next check for changes is due. */
+    private volatile long nextRefresh = System.nanoTime();
+
     private final PropertySourceChangeSupport cachedProperties = new PropertySourceChangeSupport(
             ChangeSupport.SUPPORTED, this);
 
@@ -46,8 +65,9 @@ public class SystemPropertySource extends BasePropertySource {
      * Creates a new instance. Also initializes the {@code prefix} and {@code disabled} properties
      * from the system-/ environment properties:
      * <pre>
-     *     tamaya.envprops.prefix
-     *     tamaya.envprops.disable
+     *     tamaya.sysprops.prefix
+     *     tamaya.sysprops.disable
+     *     tamaya.sysprops.refresh
      * </pre>
      */
     public SystemPropertySource(){
@@ -63,8 +83,9 @@ public class SystemPropertySource extends BasePropertySource {
      * Initializes the {@code prefix} and {@code disabled} properties from the system-/
      * environment properties:
      * <pre>
-     *     tamaya.envprops.prefix
-     *     tamaya.envprops.disable
+     *     tamaya.sysprops.prefix
+     *     tamaya.sysprops.disable
+     *     tamaya.sysprops.refresh
      * </pre>
      */
     private void initFromSystemProperties() {
@@ -85,6 +106,36 @@ public class SystemPropertySource extends BasePropertySource {
         if(value!=null && !value.isEmpty()) {
             setDisabled(Boolean.parseBoolean(value));
         }
+        value = System.getProperty("tamaya.sysprops.refresh");
+        if(value==null){
+            value = System.getenv("tamaya.sysprops.refresh");
+        }
+        if(value!=null && !value.isEmpty()) {
+            try {
+                setRefreshInterval(Long.parseLong(value.trim()));
+            }catch(NumberFormatException e){
+                LOG.log(Level.WARNING, "Invalid tamaya.sysprops.refresh value, using default: " + value, e);
+            }
+        }
+    }
+
+    /**
+     * Get the interval, in which the system properties are checked for changes.
+     * @return the interval in milliseconds, 0 for checking on each access, negative if changes are only detected
+     * on explicit calls to {@link #reload()}.
+     */
+    public long getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Sets the interval, in which the system properties are checked for changes.
+     * @param refreshInterval the interval in milliseconds, 0 for checking on each access, negative if changes
+     *                        should only be detected on explicit calls to {@link #reload()}.
+     */
+    public void setRefreshInterval(long refreshInterval) {
+        this.refreshInterval = refreshInterval;
+        this.nextRefresh = System.nanoTime();
     }
 
     /**
@@ -105,10 +156,29 @@ public class SystemPropertySource extends BasePropertySource {
         if(isDisabled()){
             return null;
         }
-        reload();
+        checkForChanges();
         return this.cachedProperties.getValue(key);
     }
 
+    private void checkForChanges() {
+        long interval = this.refreshInterval;
+        if(interval<0){
+            return;
+        }
+        if(interval>0){
+            long now = System.nanoTime();
+            if(now - nextRefresh < 0){
+                return;
+            }
+            nextRefresh = now + TimeUnit.MILLISECONDS.toNanos(interval);
+        }
+        reload();
+    }
+
+    /**
+     * Checks the system properties for changes and reloads them, if changed. Registered change listeners are
+     * notified about the keys changed.
+     */
     public void reload() {
         int hashCode = System.getProperties().hashCode();
         if(hashCode!=this.savedHashcode.get()) {
@@ -122,14 +192,37 @@ public class SystemPropertySource extends BasePropertySource {
         if(isDisabled()){
             return Collections.emptyMap();
         }
-        reload();
+        checkForChanges();
         return cachedProperties.getProperties();
     }
 
+    /**
+     * Get the version of the system properties. As the system properties do not report changes on their own,
+     * this also checks for changes, honoring the refresh interval.
+     * @return the current version, never null.
+     */
     public String getVersion(){
+        if(!isDisabled()){
+            checkForChanges();
+        }
         return cachedProperties.getVersion();
     }
 
+    @Override
+    public void addChangeListener(BiConsumer<Set<String>, PropertySource> l) {
+        cachedProperties.addChangeListener(l);
+    }
+
+    @Override
+    public void removeChangeListener(BiConsumer<Set<String>, PropertySource> l) {
+        cachedProperties.removeChangeListener(l);
+    }
+
+    @Override
+    public void removeAllChangeListeners() {
+        cachedProperties.removeAllChangeListeners();
+    }
+
     @Override
     public ChangeSupport getChangeSupport() {
         return ChangeSupport.SUPPORTED;
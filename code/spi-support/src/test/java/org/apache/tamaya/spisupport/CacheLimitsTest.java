@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CacheLimits}.
+ */
+public class CacheLimitsTest {
+
+    @Test
+    public void getMaxKeys_Default() {
+        assertThat(CacheLimits.getMaxKeys()).isEqualTo(CacheLimits.DEFAULT_MAX_KEYS);
+    }
+
+    @Test
+    public void put_ClearsFullCache() {
+        Map<String, String> cache = new HashMap<>();
+        for (int i = 0; i < CacheLimits.getMaxKeys(); i++) {
+            CacheLimits.put(cache, "k" + i, "v");
+        }
+        assertThat(cache).hasSize(CacheLimits.getMaxKeys());
+        CacheLimits.put(cache, "k0", "v0");
+        assertThat(cache).hasSize(1).containsEntry("k0", "v0");
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.ConfigException;
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spi.ServiceContext;
+import org.apache.tamaya.spisupport.propertysource.BuildablePropertySource;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ConfigurationMetrics}.
+ */
+public class ConfigurationMetricsTest {
+
+    @Test
+    public void valueEvaluated_CountsHitsAndMisses() {
+        ConfigurationMetrics metrics = new ConfigurationMetrics();
+        metrics.valueEvaluated("a", PropertyValue.createValue("a", "1").setMeta("source", "ps1"), 10);
+        metrics.valueEvaluated("a", PropertyValue.createValue("a", "1").setMeta("source", "ps1"), 100);
+        metrics.valueEvaluated("b", null, 1000);
+        ConfigurationMetrics.Snapshot snapshot = metrics.snapshot();
+        assertThat(snapshot.getLookupCount()).isEqualTo(3);
+        assertThat(snapshot.getHitCount()).isEqualTo(2);
+        assertThat(snapshot.getMissCount()).isEqualTo(1);
+        assertThat(snapshot.getHitRatio()).isEqualTo(2.0 / 3);
+        assertThat(snapshot.getKeyLookupCounts()).containsEntry("a", 2L).containsEntry("b", 1L);
+        assertThat(snapshot.getSourceHitCounts()).containsEntry("ps1", 2L).hasSize(1);
+        long[] histogram = snapshot.getLookupLatencyHistogram();
+        assertThat(histogram[4]).isEqualTo(1);
+        assertThat(histogram[7]).isEqualTo(1);
+        assertThat(histogram[10]).isEqualTo(1);
+        metrics.reset();
+        assertThat(metrics.getLookupCount()).isZero();
+        assertThat(metrics.getHitRatio()).isZero();
+        assertThat(metrics.getKeyLookupCounts()).isEmpty();
+        assertThat(snapshot.getLookupCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void configuration_ReportsLookups() {
+        ConfigurationMetrics metrics = new ConfigurationMetrics();
+        Configuration config = createConfiguration(metrics);
+        assertThat(config.get("a")).isEqualTo("1");
+        assertThat(config.get("missing")).isNull();
+        assertThat(config.get("a", Integer.class)).isEqualTo(1);
+        try {
+            config.get("b", Integer.class);
+            throw new AssertionError("Expected ConfigException");
+        } catch (ConfigException e) {
+            // expected
+        }
+        assertThat(metrics.getLookupCount()).isEqualTo(4);
+        assertThat(metrics.getHitCount()).isEqualTo(3);
+        assertThat(metrics.getKeyLookupCounts()).containsEntry("a", 2L).containsEntry("missing", 1L);
+        assertThat(metrics.getSourceHitCounts().values()).containsExactly(3L);
+        assertThat(metrics.getFilterCount()).isEqualTo(3);
+        assertThat(metrics.getFilterLoopCount()).isEqualTo(3);
+        assertThat(metrics.getConversionCount()).isEqualTo(2);
+        assertThat(metrics.getConversionFailureCount()).isEqualTo(1);
+        assertThat(Arrays.stream(metrics.getConversionLatencyHistogram()).sum()).isEqualTo(2);
+    }
+
+    @Test
+    public void configuration_ReportsCachedLookups() {
+        System.setProperty(ResolvedValueCache.ENABLED_PROPERTY, "true");
+        try {
+            ConfigurationMetrics metrics = new ConfigurationMetrics();
+            Configuration config = createConfiguration(metrics);
+            assertThat(config.get("a")).isEqualTo("1");
+            assertThat(config.get("a")).isEqualTo("1");
+            assertThat(config.get("missing")).isNull();
+            assertThat(config.get("missing")).isNull();
+            assertThat(metrics.getLookupCount()).isEqualTo(4);
+            assertThat(metrics.getHitCount()).isEqualTo(2);
+            assertThat(metrics.getKeyLookupCounts()).containsEntry("a", 2L).containsEntry("missing", 2L);
+            assertThat(metrics.getSourceHitCounts().values()).containsExactly(1L);
+            assertThat(Arrays.stream(metrics.getLookupLatencyHistogram()).sum()).isEqualTo(4);
+        } finally {
+            System.clearProperty(ResolvedValueCache.ENABLED_PROPERTY);
+        }
+    }
+
+    @Test
+    public void configuration_NotInstrumentedByDefault() {
+        Configuration config = new DefaultConfigurationBuilder().build();
+        assertThat(DefaultConfigurationContext.getInstrumentation(config.getContext())).isNull();
+    }
+
+    @Test
+    public void registerMBean() throws Exception {
+        ConfigurationMetrics metrics = new ConfigurationMetrics();
+        metrics.valueEvaluated("a", null, 10);
+        ObjectName name = metrics.registerMBean();
+        try {
+            assertThat(metrics.registerMBean()).isEqualTo(name);
+            assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "LookupCount")).isEqualTo(1L);
+            assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "MissCount")).isEqualTo(1L);
+            assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "KeyLookupCounts")).isNotNull();
+        } finally {
+            metrics.unregisterMBean();
+        }
+        assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name)).isFalse();
+    }
+
+    private Configuration createConfiguration(ConfigurationInstrumentation instrumentation) {
+        ServiceContext serviceContext = mock(ServiceContext.class);
+        when(serviceContext.getService(ConfigurationInstrumentation.class)).thenReturn(instrumentation);
+        return new DefaultConfigurationBuilder()
+                .setServiceContext(serviceContext)
+                .addPropertySources(BuildablePropertySource.builder().withName("metrics")
+                        .withSimpleProperty("a", "1").withSimpleProperty("b", "x").build())
+                .addPropertyConverters(TypeLiteral.of(Integer.class), (value, context) -> {
+                    context.addSupportedFormats(getClass(), "<int>");
+                    return value.equals("x") ? null : Integer.valueOf(value);
+                })
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.TypeLiteral;
+import org.apache.tamaya.spi.ConversionContext;
+import org.apache.tamaya.spi.PropertyConverter;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.propertysource.BuildablePropertySource;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConvertedValueCache}.
+ */
+public class ConvertedValueCacheTest {
+
+    private static final TypeLiteral<Integer> INT_TYPE = TypeLiteral.of(Integer.class);
+
+    @After
+    public void cleanup() {
+        System.clearProperty(ResolvedValueCache.ENABLED_PROPERTY);
+    }
+
+    @Test
+    public void of_DisabledByDefault() {
+        assertThat(ConvertedValueCache.of()).isNull();
+        System.setProperty(ResolvedValueCache.ENABLED_PROPERTY, "true");
+        assertThat(ConvertedValueCache.of()).isNotNull();
+    }
+
+    @Test
+    public void isMemoizable() {
+        assertThat(ConvertedValueCache.isMemoizable(null)).isFalse();
+        assertThat(ConvertedValueCache.isMemoizable("a")).isTrue();
+        assertThat(ConvertedValueCache.isMemoizable(1)).isTrue();
+        assertThat(ConvertedValueCache.isMemoizable(Thread.State.NEW)).isTrue();
+        assertThat(ConvertedValueCache.isMemoizable(new ArrayList<>())).isFalse();
+        assertThat(ConvertedValueCache.isMemoizable(new StringBuilder())).isFalse();
+    }
+
+    @Test
+    public void get_MissAndHit() {
+        ConvertedValueCache cache = new ConvertedValueCache();
+        List<PropertyValue> values = Collections.singletonList(PropertyValue.createValue("a", "1"));
+        assertThat(cache.get("a", INT_TYPE, values)).isSameAs(ConvertedValueCache.MISS);
+        cache.put("a", INT_TYPE, values, 1);
+        assertThat(cache.get("a", INT_TYPE, values)).isEqualTo(1);
+        assertThat(cache.get("a", INT_TYPE, new ArrayList<>(values))).isEqualTo(1);
+        assertThat(cache.get("a", TypeLiteral.of(Long.class), values)).isSameAs(ConvertedValueCache.MISS);
+        assertThat(cache.get("b", INT_TYPE, values)).isSameAs(ConvertedValueCache.MISS);
+        cache.clear();
+        assertThat(cache.get("a", INT_TYPE, values)).isSameAs(ConvertedValueCache.MISS);
+    }
+
+    @Test
+    public void get_MissOnChangedValues() {
+        ConvertedValueCache cache = new ConvertedValueCache();
+        PropertyValue value = PropertyValue.createValue("a", "1");
+        List<PropertyValue> values = new ArrayList<>(Collections.singletonList(value));
+        cache.put("a", INT_TYPE, values, 1);
+        assertThat(cache.get("a", INT_TYPE,
+                Collections.singletonList(PropertyValue.createValue("a", "1")))).isSameAs(ConvertedValueCache.MISS);
+        assertThat(cache.get("a", INT_TYPE,
+                Arrays.asList(value, value))).isSameAs(ConvertedValueCache.MISS);
+        value.setValue("2");
+        assertThat(cache.get("a", INT_TYPE, values)).isSameAs(ConvertedValueCache.MISS);
+    }
+
+    @Test
+    public void get_MissOnValuesChangedInSameList() {
+        ConvertedValueCache cache = new ConvertedValueCache();
+        PropertyValue value = PropertyValue.createValue("a", "1");
+        List<PropertyValue> values = Collections.unmodifiableList(Collections.singletonList(value));
+        cache.put("a", INT_TYPE, values, 1);
+        assertThat(cache.get("a", INT_TYPE, values)).isEqualTo(1);
+        value.setValue("2");
+        assertThat(cache.get("a", INT_TYPE, values)).isSameAs(ConvertedValueCache.MISS);
+    }
+
+    @Test
+    public void put_IgnoresMutableResults() {
+        ConvertedValueCache cache = new ConvertedValueCache();
+        List<PropertyValue> values = Collections.singletonList(PropertyValue.createValue("a", "1"));
+        cache.put("a", TypeLiteral.of(StringBuilder.class), values, new StringBuilder("1"));
+        assertThat(cache.get("a", TypeLiteral.of(StringBuilder.class), values)).isSameAs(ConvertedValueCache.MISS);
+    }
+
+    @Test
+    public void configuration_MemoizesConversions() {
+        System.setProperty(ResolvedValueCache.ENABLED_PROPERTY, "true");
+        CountingConverter converter = new CountingConverter();
+        Configuration config = createConfiguration(converter);
+        assertThat(config.get("a", INT_TYPE)).isEqualTo(1);
+        assertThat(config.get("a", INT_TYPE)).isEqualTo(1);
+        assertThat(converter.count.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void configuration_NotMemoizingUnlessEnabled() {
+        CountingConverter converter = new CountingConverter();
+        Configuration config = createConfiguration(converter);
+        assertThat(config.get("a", INT_TYPE)).isEqualTo(1);
+        assertThat(config.get("a", INT_TYPE)).isEqualTo(1);
+        assertThat(converter.count.get()).isEqualTo(2);
+    }
+
+    private Configuration createConfiguration(CountingConverter converter) {
+        return new DefaultConfigurationBuilder()
+                .addPropertySources(BuildablePropertySource.builder().withName("test")
+                        .withSimpleProperty("a", "1").build())
+                .addPropertyConverters(INT_TYPE, converter)
+                .build();
+    }
+
+    /**
+     * Integer converter, which counts its invocations.
+     */
+    private static final class CountingConverter implements PropertyConverter<Integer> {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Integer convert(String value, ConversionContext context) {
+            count.incrementAndGet();
+            return Integer.valueOf(value);
+        }
+    }
+}
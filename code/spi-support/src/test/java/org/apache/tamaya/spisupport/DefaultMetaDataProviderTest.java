@@ -18,11 +18,21 @@
  */
 package org.apache.tamaya.spisupport;
 
+import org.apache.tamaya.spi.ChangeSupport;
 import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.propertysource.BasePropertySource;
+import org.apache.tamaya.spisupport.propertysource.BuildablePropertySource;
+import org.junit.After;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -32,6 +42,11 @@ import static org.assertj.core.api.Assertions.assertThatCode;
  */
 public class DefaultMetaDataProviderTest {
 
+    @After
+    public void cleanup() {
+        System.clearProperty(SourceVersions.REFRESH_PROPERTY);
+    }
+
     @Test
     public void cretion() {
         assertThatCode(() -> new DefaultMetaDataProvider()).doesNotThrowAnyException();
@@ -92,4 +107,164 @@ public class DefaultMetaDataProviderTest {
         assertThat(provider.init(ConfigurationContext.EMPTY).toString())
             .isEqualTo("DefaultMetaDataProvider[additionalProperties = {}, context = ConfigurationContext.EMPTY]");
     }
+
+    @Test
+    public void getMetaData_MergesSourceExplicitAndManualMeta() {
+        PropertySource ps = BuildablePropertySource.builder().withName("test")
+                .withProperties(PropertyValue.createValue("a", "1").setMeta("source", "test").setMeta("x", "y"))
+                .withSimpleProperty("[(META)a].type", "int")
+                .withSimpleProperty("[(META)a].x", "explicit")
+                .build();
+        DefaultMetaDataProvider provider = new DefaultMetaDataProvider();
+        provider.init(createContext(ps));
+        assertThat(provider.getMetaData("a")).containsEntry("source", "test").containsEntry("type", "int")
+                .containsEntry("x", "explicit").hasSize(3);
+        provider.setMeta("a", "x", "manual");
+        assertThat(provider.getMetaData("a")).containsEntry("x", "manual");
+        provider.reset("a");
+        assertThat(provider.getMetaData("a")).containsEntry("x", "explicit");
+        assertThat(provider.getMetaData("b")).isEmpty();
+    }
+
+    @Test
+    public void getMetaData_EvaluatedOncePerKey() {
+        ChangingPropertySource ps = new ChangingPropertySource(ChangeSupport.IMMUTABLE);
+        ps.setProperty("a", "1");
+        ps.setProperty("b", "2");
+        DefaultMetaDataProvider provider = new DefaultMetaDataProvider();
+        provider.init(createContext(ps));
+        Map<String, String> meta = provider.getMetaData("a");
+        assertThat(meta).containsEntry("source", ps.getName());
+        assertThat(provider.getMetaData("a")).isSameAs(meta);
+        assertThat(ps.getCount.get()).isEqualTo(1);
+        assertThat(ps.propertiesCount.get()).isEqualTo(1);
+        provider.getMetaData("b");
+        assertThat(ps.getCount.get()).isEqualTo(2);
+        assertThat(ps.propertiesCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void getMetaData_InvalidatedByChangeListener() {
+        ChangingPropertySource ps = new ChangingPropertySource(ChangeSupport.SUPPORTED);
+        ps.setProperty("a", "1");
+        ps.setProperty("b", "2");
+        DefaultMetaDataProvider provider = new DefaultMetaDataProvider();
+        provider.init(createContext(ps));
+        assertThat(provider.getMetaData("a")).doesNotContainKey("type");
+        Map<String, String> metaB = provider.getMetaData("b");
+        ps.setProperty("[(META)a].type", "int");
+        assertThat(provider.getMetaData("a")).containsEntry("type", "int");
+        ps.setProperty("a", "3");
+        assertThat(provider.getMetaData("a")).containsEntry("type", "int");
+        assertThat(provider.getMetaData("b")).isEqualTo(metaB);
+    }
+
+    @Test
+    public void getMetaData_InvalidatedByVersion() {
+        System.setProperty(SourceVersions.REFRESH_PROPERTY, "0");
+        ChangingPropertySource ps = new ChangingPropertySource(ChangeSupport.UNSUPPORTED);
+        ps.setProperty("a", "1");
+        DefaultMetaDataProvider provider = new DefaultMetaDataProvider();
+        provider.init(createContext(ps));
+        assertThat(provider.getMetaData("a")).doesNotContainKey("type");
+        ps.setProperty("[(META)a].type", "int");
+        assertThat(provider.getMetaData("a")).containsEntry("type", "int");
+    }
+
+    @Test
+    public void getMetaData_NotPollingVersionsWithinRefreshInterval() {
+        ChangingPropertySource ps = new ChangingPropertySource(ChangeSupport.UNSUPPORTED);
+        ps.setProperty("a", "1");
+        DefaultMetaDataProvider provider = new DefaultMetaDataProvider();
+        provider.init(createContext(ps));
+        Map<String, String> meta = provider.getMetaData("a");
+        ps.versionCount.set(0);
+        for (int i = 0; i < 100; i++) {
+            assertThat(provider.getMetaData("a")).isSameAs(meta);
+        }
+        assertThat(ps.versionCount.get()).isZero();
+    }
+
+    @Test
+    public void getMetaData_StaleExplicitMetaDataNotStored() {
+        ChangingPropertySource ps = new ChangingPropertySource(ChangeSupport.SUPPORTED);
+        ps.setProperty("a", "1");
+        DefaultMetaDataProvider provider = new DefaultMetaDataProvider();
+        provider.init(createContext(ps));
+        // changes the meta data while the explicit meta data is loaded
+        ps.afterProperties = () -> ps.setProperty("[(META)a].type", "int");
+        provider.getMetaData("a");
+        ps.afterProperties = null;
+        assertThat(provider.getMetaData("a")).containsEntry("type", "int");
+    }
+
+    private ConfigurationContext createContext(PropertySource... propertySources) {
+        return new DefaultConfigurationBuilder().addPropertySources(propertySources).build().getContext();
+    }
+
+    /**
+     * Property source, which counts the accesses of its properties.
+     */
+    private static final class ChangingPropertySource extends BasePropertySource {
+
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        private final ChangeSupport changeSupport;
+        private final PropertySourceChangeSupport properties;
+        private final Map<String, String> values = new HashMap<>();
+        private final AtomicInteger propertiesCount = new AtomicInteger();
+        private final AtomicInteger getCount = new AtomicInteger();
+        private final AtomicInteger versionCount = new AtomicInteger();
+        private Runnable afterProperties;
+
+        ChangingPropertySource(ChangeSupport changeSupport) {
+            super("meta-" + COUNTER.incrementAndGet());
+            this.changeSupport = changeSupport;
+            this.properties = new PropertySourceChangeSupport(ChangeSupport.SUPPORTED, this);
+        }
+
+        void setProperty(String key, String value) {
+            values.put(key, value);
+            properties.load(PropertyValue.mapProperties(values, getName()));
+        }
+
+        @Override
+        public PropertyValue get(String key) {
+            getCount.incrementAndGet();
+            return properties.getProperties().get(key);
+        }
+
+        @Override
+        public Map<String, PropertyValue> getProperties() {
+            propertiesCount.incrementAndGet();
+            Map<String, PropertyValue> result = Collections.unmodifiableMap(properties.getProperties());
+            Runnable action = afterProperties;
+            afterProperties = null;
+            if (action != null) {
+                action.run();
+            }
+            return result;
+        }
+
+        @Override
+        public ChangeSupport getChangeSupport() {
+            return changeSupport;
+        }
+
+        @Override
+        public String getVersion() {
+            versionCount.incrementAndGet();
+            return properties.getVersion();
+        }
+
+        @Override
+        public void addChangeListener(BiConsumer<Set<String>, PropertySource> l) {
+            properties.addChangeListener(l);
+        }
+
+        @Override
+        public void removeChangeListener(BiConsumer<Set<String>, PropertySource> l) {
+            properties.removeChangeListener(l);
+        }
+    }
 }
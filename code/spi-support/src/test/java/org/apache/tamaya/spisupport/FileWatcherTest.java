@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spisupport.propertysource.BuildablePropertySource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link FileWatcher}.
+ */
+public class FileWatcherTest {
+
+    private final PropertySource ps = BuildablePropertySource.builder().withName("watched").build();
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("tamaya-watch");
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        FileWatcher.cancel(ps);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void toPath() throws Exception {
+        Path file = directory.resolve("a.properties");
+        assertThat(FileWatcher.toPath(file.toUri().toURL())).isEqualTo(file);
+        assertThat(FileWatcher.toPath(new URL("http://localhost/a.properties"))).isNull();
+    }
+
+    @Test
+    public void watch_NotifiesOnChange() throws Exception {
+        Path file = write(directory.resolve("a.properties"), "a=1");
+        AtomicInteger changes = new AtomicInteger();
+        FileWatcher.Watch watch = FileWatcher.watch(ps, file, changes::incrementAndGet);
+        assertThat(watch).isNotNull();
+        write(file, "a=22");
+        waitFor(changes, 1);
+        write(directory.resolve("other.properties"), "b=1");
+        Thread.sleep(200L);
+        assertThat(changes.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void watch_IgnoresUnchangedFile() throws Exception {
+        Path file = write(directory.resolve("a.properties"), "a=1");
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        AtomicInteger changes = new AtomicInteger();
+        FileWatcher.watch(ps, file, changes::incrementAndGet);
+        Files.setLastModifiedTime(file, lastModified);
+        Thread.sleep(200L);
+        assertThat(changes.get()).isEqualTo(0);
+        write(file, "a=22");
+        waitFor(changes, 1);
+    }
+
+    @Test
+    public void watch_OneThreadPerDirectory() throws Exception {
+        int directories = FileWatcher.getDirectoryCount();
+        Path a = write(directory.resolve("a.properties"), "a=1");
+        Path b = write(directory.resolve("b.properties"), "b=1");
+        AtomicInteger changes = new AtomicInteger();
+        FileWatcher.Watch watchA = FileWatcher.watch(ps, a, changes::incrementAndGet);
+        FileWatcher.Watch watchB = FileWatcher.watch(ps, b, changes::incrementAndGet);
+        assertThat(FileWatcher.getDirectoryCount()).isEqualTo(directories + 1);
+        write(b, "b=22");
+        waitFor(changes, 1);
+        watchA.cancel();
+        assertThat(watchA.isCancelled()).isTrue();
+        assertThat(FileWatcher.getDirectoryCount()).isEqualTo(directories + 1);
+        FileWatcher.cancel(ps);
+        assertThat(watchB.isCancelled()).isTrue();
+        assertThat(FileWatcher.getDirectoryCount()).isEqualTo(directories);
+    }
+
+    private static Path write(Path file, String content) throws IOException {
+        return Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static void waitFor(AtomicInteger counter, int expected) throws InterruptedException {
+        long end = System.currentTimeMillis() + 10000;
+        while (counter.get() < expected) {
+            assertThat(System.currentTimeMillis()).isLessThan(end);
+            Thread.sleep(5L);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.propertysource.BuildablePropertySource;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ParallelConfigValueEvaluator}.
+ */
+public class ParallelConfigValueEvaluatorTest {
+
+    @Test
+    public void evaluateRawValues_SameAsDefault() {
+        Configuration config = Configuration.current();
+        assertThat(new ParallelConfigValueEvaluator().evaluateRawValues(config.getContext()))
+                .isEqualTo(new DefaultConfigValueEvaluator().evaluateRawValues(config.getContext()));
+    }
+
+    @Test
+    public void evaluateRawValues_MergesInOrderOfSignificance() {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = command -> {
+            tasks.incrementAndGet();
+            executorService.execute(command);
+        };
+        try {
+            ConfigurationContext context = new DefaultConfigurationBuilder().addPropertySources(
+                    createPropertySource("ps1", "a", "1"),
+                    createPropertySource("ps2", "a", "2"),
+                    createPropertySource("ps3", "b", "3")).build().getContext();
+            Map<String, PropertyValue> result = new ParallelConfigValueEvaluator(executor).evaluateRawValues(context);
+            assertThat(result.get("a").getValue()).isEqualTo("2");
+            assertThat(result.get("b").getValue()).isEqualTo("3");
+            assertThat(result).hasSize(2);
+            assertThat(tasks.get()).isEqualTo(3);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void evaluateRawValues_PropagatesFailures() {
+        PropertySource failing = mock(PropertySource.class);
+        when(failing.getName()).thenReturn("failing");
+        when(failing.getProperties()).thenThrow(new IllegalStateException("failed"));
+        ConfigurationContext context = new DefaultConfigurationBuilder().addPropertySources(
+                createPropertySource("ps1", "a", "1"), failing).build().getContext();
+        new ParallelConfigValueEvaluator(Runnable::run).evaluateRawValues(context);
+    }
+
+    @Test
+    public void evaluateRawValue_LastSourceWins() {
+        ConfigurationContext context = new DefaultConfigurationBuilder().addPropertySources(
+                createPropertySource("ps1", "a", "1"),
+                createPropertySource("ps2", "a", "2")).build().getContext();
+        Map<String, PropertyValue> result = new ParallelConfigValueEvaluator().evaluateRawValues(context);
+        assertThat(result.get("a").getValue()).isEqualTo("2");
+        assertThat(new ParallelConfigValueEvaluator().evaluateRawValue("a", context).getValue()).isEqualTo("2");
+    }
+
+    @Test
+    public void testToString() {
+        assertThat(new ParallelConfigValueEvaluator(Runnable::run).toString()).contains("ParallelConfigValueEvaluator");
+    }
+
+    private PropertySource createPropertySource(String name, String key, String value) {
+        return BuildablePropertySource.builder().withName(name).withSimpleProperty(key, value).build();
+    }
+}
@@ -193,7 +193,31 @@ public class PropertyConverterManagerTest {
         assertThat(result).isEqualTo(101);
     }
 
-    
+    @Test
+    public void testResolvedConvertersAreCached() {
+        ServiceContext serviceContext = ServiceContextManager.getServiceContext(getClass().getClassLoader());
+        PropertyConverterManager manager = new PropertyConverterManager(serviceContext, true);
+        List<PropertyConverter<Integer>> converters = manager.getPropertyConverters(TypeLiteral.of(Integer.class));
+        assertThat(manager.getPropertyConverters(TypeLiteral.of(Integer.class))).isSameAs(converters);
+        List<PropertyConverter<Unsupported>> unsupported = manager.getPropertyConverters(
+                TypeLiteral.of(Unsupported.class));
+        assertThat(unsupported).isEmpty();
+        assertThat(manager.getPropertyConverters(TypeLiteral.of(Unsupported.class))).isSameAs(unsupported);
+    }
+
+    @Test
+    public void testRegisterResetsResolvedConverters() {
+        ServiceContext serviceContext = ServiceContextManager.getServiceContext(getClass().getClassLoader());
+        PropertyConverterManager manager = new PropertyConverterManager(serviceContext, false);
+        assertThat(manager.getPropertyConverters(TypeLiteral.of(Unsupported.class))).isEmpty();
+        PropertyConverter<Unsupported> converter = (value, context) -> new Unsupported();
+        manager.register(TypeLiteral.of(Unsupported.class), converter);
+        List<PropertyConverter<Unsupported>> converters = manager.getPropertyConverters(
+                TypeLiteral.of(Unsupported.class));
+        assertThat(converters).hasSize(1);
+        assertThat(converters.get(0)).isSameAs(converter);
+    }
+
     @Test
     public void testCreateEnumPropertyConverter() {
         ServiceContext serviceContext = ServiceContextManager.getServiceContext(getClass().getClassLoader());
@@ -270,6 +294,9 @@ public class PropertyConverterManagerTest {
 
     }
 
+    private static final class Unsupported {
+    }
+
     private enum MyEnum {
         A, B, C
     }
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spi.FilterContext;
+import org.apache.tamaya.spi.PropertyFilter;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.propertysource.BuildablePropertySource;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertyFilterIndex}.
+ */
+public class PropertyFilterIndexTest {
+
+    @Test
+    public void of_NullIfNoFilterScoped() {
+        assertThat(PropertyFilterIndex.of(Arrays.asList(new ScopedFilter(), new ScopedFilter("")))).isNull();
+        assertThat(PropertyFilterIndex.of(Arrays.asList(new ScopedFilter(), new ScopedFilter("a.")))).isNotNull();
+    }
+
+    @Test
+    public void getPropertyFilters_MatchesPrefixes() {
+        ScopedFilter all = new ScopedFilter();
+        ScopedFilter db = new ScopedFilter("db.");
+        ScopedFilter secrets = new ScopedFilter("secret.", "db.password");
+        List<PropertyFilter> filters = Arrays.asList(secrets, all, db);
+        PropertyFilterIndex index = new PropertyFilterIndex(filters);
+        assertThat(index.getPropertyFilters("app.name")).containsExactly(all);
+        assertThat(index.getPropertyFilters("db.url")).containsExactly(all, db);
+        assertThat(index.getPropertyFilters("db.password")).isSameAs(filters);
+        assertThat(index.getPropertyFilters("secret.key")).containsExactly(secrets, all);
+        assertThat(index.getPropertyFilters("db")).containsExactly(all);
+        assertThat(index.getPropertyFilters("db.url")).isSameAs(index.getPropertyFilters("db.url"));
+    }
+
+    @Test
+    public void getPropertyFilters_EmptyIfNoneMatches() {
+        PropertyFilterIndex index = new PropertyFilterIndex(Arrays.asList(new ScopedFilter("a.")));
+        assertThat(index.getPropertyFilters("b")).isEmpty();
+        assertThat(index.getPropertyFilters("")).isEmpty();
+    }
+
+    @Test
+    public void configuration_SkipsFiltersNotMatching() {
+        ScopedFilter db = new ScopedFilter("db.");
+        Configuration config = new DefaultConfigurationBuilder()
+                .addPropertySources(BuildablePropertySource.builder().withName("filtered")
+                        .withSimpleProperty("db.password", "secret").withSimpleProperty("name", "value").build())
+                .addPropertyFilters(db).build();
+        assertThat(config.get("name")).isEqualTo("value");
+        assertThat(db.count.get()).isZero();
+        assertThat(config.get("db.password")).isEqualTo("*****");
+        assertThat(db.count.get()).isEqualTo(2);
+        assertThat(config.getProperties()).containsEntry("db.password", "*****").containsEntry("name", "value");
+    }
+
+    /**
+     * Filter masking values, restricted to the prefixes given.
+     */
+    private static final class ScopedFilter implements PropertyFilter {
+
+        private final List<String> prefixes;
+        private final AtomicInteger count = new AtomicInteger();
+
+        ScopedFilter(String... prefixes) {
+            this.prefixes = Arrays.asList(prefixes);
+        }
+
+        @Override
+        public PropertyValue filterProperty(PropertyValue value, FilterContext context) {
+            count.incrementAndGet();
+            return value.mutable().setValue("*****");
+        }
+
+        @Override
+        public Collection<String> getKeyPrefixes() {
+            return prefixes;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.FilterContext;
+import org.apache.tamaya.spi.PropertyFilter;
+import org.apache.tamaya.spi.PropertyValue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertyFiltering}.
+ */
+public class PropertyFilteringTest {
+
+    @Test
+    public void applyFilter_LoopsUntilUnchanged() {
+        CountingFilter filter = new CountingFilter(false);
+        PropertyValue filtered = PropertyFiltering.applyFilter(PropertyValue.createValue("a", "a"),
+                createContext(filter));
+        assertThat(filtered.getValue()).isEqualTo("A");
+        assertThat(filter.count.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void applyFilter_SinglePassIfIdempotent() {
+        CountingFilter filter = new CountingFilter(true);
+        PropertyValue filtered = PropertyFiltering.applyFilter(PropertyValue.createValue("a", "a"),
+                createContext(filter));
+        assertThat(filtered.getValue()).isEqualTo("A");
+        assertThat(filter.count.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void applyFilter_LoopsIfAnyFilterNotIdempotent() {
+        CountingFilter idempotent = new CountingFilter(true);
+        CountingFilter other = new CountingFilter(false);
+        PropertyFiltering.applyFilter(PropertyValue.createValue("a", "a"), createContext(idempotent, other));
+        assertThat(idempotent.count.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void applyFilters_ReusesContext() {
+        List<FilterContext> contexts = new ArrayList<>();
+        PropertyFilter filter = (value, context) -> {
+            contexts.add(context);
+            assertThat(context.getProperty()).isSameAs(value);
+            assertThat(context.getAllValues()).containsExactly(value);
+            assertThat(context.getConfigEntries()).hasSize(3);
+            assertThat(context.isSinglePropertyScoped()).isFalse();
+            return value.getKey().equals("b") ? null : value;
+        };
+        Map<String, PropertyValue> raw = new HashMap<>();
+        raw.put("a", PropertyValue.createValue("a", "1"));
+        raw.put("b", PropertyValue.createValue("b", "2"));
+        raw.put("c", PropertyValue.createValue("c", "3"));
+        Map<String, PropertyValue> result = PropertyFiltering.applyFilters(raw, createContext(filter));
+        assertThat(result).containsOnlyKeys("a", "c");
+        assertThat(contexts).hasSize(3);
+        assertThat(contexts.get(1)).isSameAs(contexts.get(0));
+        assertThat(contexts.get(2)).isSameAs(contexts.get(0));
+    }
+
+    private ConfigurationContext createContext(PropertyFilter... filters) {
+        return new DefaultConfigurationBuilder().addPropertyFilters(filters).build().getContext();
+    }
+
+    /**
+     * Filter converting values to upper case, counting its invocations.
+     */
+    private static final class CountingFilter implements PropertyFilter {
+
+        private final boolean idempotent;
+        private final AtomicInteger count = new AtomicInteger();
+
+        CountingFilter(boolean idempotent) {
+            this.idempotent = idempotent;
+        }
+
+        @Override
+        public PropertyValue filterProperty(PropertyValue value, FilterContext context) {
+            count.incrementAndGet();
+            return value.mutable().setValue(value.getValue().toUpperCase());
+        }
+
+        @Override
+        public boolean isIdempotent() {
+            return idempotent;
+        }
+    }
+}
@@ -20,13 +20,18 @@ package org.apache.tamaya.spisupport;
 
 import org.apache.tamaya.spi.ChangeSupport;
 import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
 import org.apache.tamaya.spisupport.propertysource.BuildablePropertySource;
 import org.junit.Test;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -169,4 +174,63 @@ public class PropertySourceChangeSupportTest {
         String v2 = support.getVersion();
         assertThat(v1).isEqualTo(v2);
     }
+
+    @Test
+    public void scheduleChangeMonitor_Periodic() throws InterruptedException {
+        PropertySource ps = BuildablePropertySource.builder().withName("test").build();
+        PropertySourceChangeSupport support = new PropertySourceChangeSupport(ChangeSupport.SUPPORTED, ps);
+        AtomicInteger loads = new AtomicInteger();
+        support.scheduleChangeMonitor(() -> {
+            loads.incrementAndGet();
+            return Collections.emptyMap();
+        }, 10, TimeUnit.MILLISECONDS);
+        try {
+            long end = System.currentTimeMillis() + 5000;
+            while (loads.get() < 3) {
+                assertThat(System.currentTimeMillis()).isLessThan(end);
+                Thread.sleep(5L);
+            }
+        } finally {
+            support.cancelSchedule();
+        }
+    }
+
+    @Test
+    public void setCoalescingDelay() throws InterruptedException {
+        PropertySource ps = BuildablePropertySource.builder().withName("test").build();
+        PropertySourceChangeSupport support = new PropertySourceChangeSupport(ChangeSupport.SUPPORTED, ps);
+        support.setCoalescingDelay(100, TimeUnit.MILLISECONDS);
+        List<Set<String>> notified = new CopyOnWriteArrayList<>();
+        support.addChangeListener((keys, source) -> notified.add(keys));
+        String v0 = support.getVersion();
+        support.load(Collections.singletonMap("a", PropertyValue.createValue("a", "1")));
+        Map<String, PropertyValue> values = new HashMap<>();
+        values.put("a", PropertyValue.createValue("a", "1"));
+        values.put("b", PropertyValue.createValue("b", "2"));
+        support.load(values);
+        assertThat(support.getVersion()).isNotEqualTo(v0);
+        long end = System.currentTimeMillis() + 5000;
+        while (notified.isEmpty()) {
+            assertThat(System.currentTimeMillis()).isLessThan(end);
+            Thread.sleep(5L);
+        }
+        assertThat(notified).hasSize(1);
+        assertThat(notified.get(0)).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    public void setCoalescingDelay_PendingNotifiedOnShutdown() {
+        PropertySource ps = BuildablePropertySource.builder().withName("test").build();
+        PropertySourceChangeSupport support = new PropertySourceChangeSupport(ChangeSupport.SUPPORTED, ps);
+        support.setCoalescingDelay(1, TimeUnit.HOURS);
+        List<Set<String>> notified = new CopyOnWriteArrayList<>();
+        support.addChangeListener((keys, source) -> notified.add(keys));
+        support.load(Collections.singletonMap("a", PropertyValue.createValue("a", "1")));
+        assertThat(notified).isEmpty();
+        ReloadScheduler.shutdown();
+        assertThat(notified).hasSize(1);
+        support.load(Collections.singletonMap("a", PropertyValue.createValue("a", "2")));
+        ReloadScheduler.shutdown();
+        assertThat(notified).hasSize(2);
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spi.ChangeSupport;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.propertysource.BasePropertySource;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertySourceIndex}.
+ */
+public class PropertySourceIndexTest {
+
+    @After
+    public void cleanup() {
+        System.clearProperty(PropertySourceIndex.ENABLED_PROPERTY);
+    }
+
+    @Test
+    public void of_DisabledByDefault() {
+        assertThat(PropertySourceIndex.of(Arrays.asList(new CountingPropertySource("a", "b")))).isNull();
+        System.setProperty(PropertySourceIndex.ENABLED_PROPERTY, "true");
+        assertThat(PropertySourceIndex.of(Arrays.asList(new CountingPropertySource("a", "b")))).isNotNull();
+    }
+
+    @Test
+    public void getPropertySources_SkipsImmutableSourcesWithoutKey() {
+        CountingPropertySource ps1 = new CountingPropertySource("a", "1");
+        MockedPropertySource ps2 = new MockedPropertySource();
+        CountingPropertySource ps3 = new CountingPropertySource("b", "3");
+        PropertySourceIndex index = new PropertySourceIndex(Arrays.asList(ps1, ps2, ps3));
+        assertThat(index.getPropertySources("a")).containsExactly(ps1, ps2);
+        assertThat(index.getPropertySources("b")).containsExactly(ps2, ps3);
+        assertThat(index.getPropertySources("c")).containsExactly(ps2);
+    }
+
+    @Test
+    public void getPropertySources_EvaluatesOnlyOnce() {
+        CountingPropertySource ps1 = new CountingPropertySource("a", "1");
+        CountingPropertySource ps2 = new CountingPropertySource("b", "2");
+        PropertySourceIndex index = new PropertySourceIndex(Arrays.asList(ps1, ps2));
+        List<PropertySource> candidates = index.getPropertySources("a");
+        assertThat(candidates).containsExactly(ps1);
+        assertThat(index.getPropertySources("a")).isSameAs(candidates);
+        assertThat(index.getPropertySources("c")).isEmpty();
+        assertThat(ps1.accessCount.get()).isEqualTo(2);
+        assertThat(ps2.accessCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void getPropertySources_AllSourcesWithoutIndex() {
+        CountingPropertySource ps1 = new CountingPropertySource("a", "1");
+        DefaultConfigurationContext context = (DefaultConfigurationContext) new DefaultConfigurationBuilder()
+                .addPropertySources(ps1).build().getContext();
+        assertThat(PropertySourceIndex.getPropertySources(context, "b")).containsExactly(ps1);
+        MockedConfigurationContext mockedContext = new MockedConfigurationContext();
+        assertThat(PropertySourceIndex.getPropertySources(mockedContext, "b"))
+                .isEqualTo(mockedContext.getPropertySources());
+    }
+
+    @Test
+    public void configuration_UsesIndex() {
+        System.setProperty(PropertySourceIndex.ENABLED_PROPERTY, "true");
+        CountingPropertySource ps1 = new CountingPropertySource("a", "1");
+        CountingPropertySource ps2 = new CountingPropertySource("b", "2");
+        Configuration config = new DefaultConfigurationBuilder().addPropertySources(ps1, ps2).build();
+        ps1.accessCount.set(0);
+        ps2.accessCount.set(0);
+        assertThat(config.get("a")).isEqualTo("1");
+        assertThat(config.get("b")).isEqualTo("2");
+        assertThat(config.get("c")).isNull();
+        assertThat(ps1.accessCount.get()).isEqualTo(4);
+        assertThat(ps2.accessCount.get()).isEqualTo(4);
+        assertThat(config.get("a")).isEqualTo("1");
+        assertThat(config.get("b")).isEqualTo("2");
+        assertThat(config.get("c")).isNull();
+        assertThat(config.getOrDefault("a", Integer.class, 0)).isEqualTo(1);
+        assertThat(ps1.accessCount.get()).isEqualTo(6);
+        assertThat(ps2.accessCount.get()).isEqualTo(5);
+    }
+
+    /**
+     * Immutable property source, which counts the property accesses.
+     */
+    private static final class CountingPropertySource extends BasePropertySource {
+
+        private final Map<String, PropertyValue> properties = new HashMap<>();
+        private final AtomicInteger accessCount = new AtomicInteger();
+
+        CountingPropertySource(String key, String value) {
+            super("counting-" + key);
+            properties.put(key, PropertyValue.createValue(key, value).setMeta("source", getName()));
+        }
+
+        @Override
+        public PropertyValue get(String key) {
+            accessCount.incrementAndGet();
+            return super.get(key);
+        }
+
+        @Override
+        public Map<String, PropertyValue> getProperties() {
+            return properties;
+        }
+
+        @Override
+        public ChangeSupport getChangeSupport() {
+            return ChangeSupport.IMMUTABLE;
+        }
+    }
+}
@@ -73,6 +73,72 @@ public class RegexPropertyFilterTest {
         
     }
 
+    @org.junit.Test
+    public void testFilterProperty_MultipleExpressions() throws Exception {
+        FilterContext ctx = new FilterContext(prop1, configContext);
+        RegexPropertyFilter filter = new RegexPropertyFilter();
+        filter.setIncludes("test2", "test1\\..*");
+        assertThat(filter.filterProperty(prop1, ctx)).isNull();
+        assertThat(filter.filterProperty(prop2, ctx)).isEqualTo(prop2);
+        assertThat(filter.filterProperty(prop3, ctx)).isEqualTo(prop3);
+        // back references are not combined into a single pattern
+        filter.setIncludes("(t)es\\1.*", "test2");
+        assertThat(filter.filterProperty(prop1, ctx)).isEqualTo(prop1);
+        assertThat(filter.filterProperty(prop2, ctx)).isEqualTo(prop2);
+        filter.setIncludes("(x)\\1", "t(e)st1");
+        assertThat(filter.filterProperty(prop1, ctx)).isEqualTo(prop1);
+        assertThat(filter.filterProperty(prop2, ctx)).isNull();
+    }
+
+    @org.junit.Test
+    public void testFilterProperty_NoIncludesMatching() throws Exception {
+        FilterContext ctx = new FilterContext(prop1, configContext);
+        RegexPropertyFilter filter = new RegexPropertyFilter();
+        assertThat(filter.filterProperty(prop1, ctx)).isEqualTo(prop1);
+        filter.setIncludes();
+        assertThat(filter.filterProperty(prop1, ctx)).isNull();
+    }
+
+    @org.junit.Test
+    public void testSetIncludes_SameNamedGroups() throws Exception {
+        FilterContext ctx = new FilterContext(prop1, configContext);
+        RegexPropertyFilter filter = new RegexPropertyFilter();
+        filter.setIncludes("(?<name>test1)", "(?<name>test2)");
+        assertThat(filter.filterProperty(prop1, ctx)).isEqualTo(prop1);
+        assertThat(filter.filterProperty(prop2, ctx)).isEqualTo(prop2);
+        assertThat(filter.filterProperty(prop3, ctx)).isNull();
+    }
+
+    @org.junit.Test
+    public void testSetIncludes_UnterminatedQuote() throws Exception {
+        FilterContext ctx = new FilterContext(prop1, configContext);
+        RegexPropertyFilter filter = new RegexPropertyFilter();
+        filter.setIncludes("\\Qtest1", "test2");
+        assertThat(filter.filterProperty(prop1, ctx)).isEqualTo(prop1);
+        assertThat(filter.filterProperty(prop2, ctx)).isEqualTo(prop2);
+    }
+
+    @org.junit.Test
+    public void testSetIncludes_ResetsVerdicts() throws Exception {
+        FilterContext ctx = new FilterContext(prop1, configContext);
+        RegexPropertyFilter filter = new RegexPropertyFilter();
+        filter.setIncludes("test1");
+        assertThat(filter.filterProperty(prop1, ctx)).isEqualTo(prop1);
+        filter.setIncludes("test2");
+        assertThat(filter.filterProperty(prop1, ctx)).isNull();
+        assertThat(filter.filterProperty(prop2, ctx)).isEqualTo(prop2);
+    }
+
+    @org.junit.Test(expected = java.util.regex.PatternSyntaxException.class)
+    public void testSetIncludes_InvalidExpression() throws Exception {
+        new RegexPropertyFilter().setIncludes("test(");
+    }
+
+    @org.junit.Test
+    public void testIsIdempotent() throws Exception {
+        assertThat(new RegexPropertyFilter().isIdempotent()).isTrue();
+    }
+
     @org.junit.Test
     public void testToString() throws Exception {
         RegexPropertyFilter filter = new RegexPropertyFilter();
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spisupport.propertysource.BuildablePropertySource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ReloadScheduler}.
+ */
+public class ReloadSchedulerTest {
+
+    private final PropertySource ps = BuildablePropertySource.builder().withName("reload").build();
+
+    @Before
+    @After
+    public void cleanup() {
+        System.clearProperty(ReloadScheduler.MAX_TASKS_PROPERTY);
+        ReloadScheduler.shutdown();
+    }
+
+    @Test
+    public void schedule_RunsPeriodicallyOnDaemonThreads() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        AtomicBoolean daemon = new AtomicBoolean(true);
+        ReloadScheduler.schedule(ps, () -> {
+            daemon.compareAndSet(true, Thread.currentThread().isDaemon());
+            latch.countDown();
+            return true;
+        }, 10, 10, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(daemon.get()).isTrue();
+    }
+
+    @Test
+    public void schedule_KeepsDelayWithoutChanges() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        ReloadScheduler.Task task = ReloadScheduler.schedule(ps, () -> {
+            count.incrementAndGet();
+            return false;
+        }, 10, 40, TimeUnit.MILLISECONDS);
+        waitFor(() -> count.get() >= 3);
+        assertThat(task.getDelay()).isEqualTo(10);
+    }
+
+    @Test
+    public void schedule_BacksOffOnFailures() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        ReloadScheduler.Task task = ReloadScheduler.schedule(ps, () -> {
+            count.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("test");
+            }
+            return false;
+        }, 10, 40, TimeUnit.MILLISECONDS);
+        waitFor(() -> task.getDelay() == 40);
+        failing.set(false);
+        waitFor(() -> task.getDelay() == 10);
+        assertThat(count.get()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    public void schedule_FailingCheckIsRescheduled() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+        ReloadScheduler.schedule(ps, () -> {
+            count.incrementAndGet();
+            throw new IllegalStateException("test");
+        }, 10, 10, TimeUnit.MILLISECONDS);
+        waitFor(() -> count.get() >= 2);
+    }
+
+    @Test
+    public void schedule_Bounded() {
+        System.setProperty(ReloadScheduler.MAX_TASKS_PROPERTY, "1");
+        assertThat(ReloadScheduler.schedule(ps, () -> false, 1, 1, TimeUnit.HOURS)).isNotNull();
+        assertThat(ReloadScheduler.schedule(ps, () -> false, 1, 1, TimeUnit.HOURS)).isNull();
+        assertThat(ReloadScheduler.getTaskCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void cancel_ByOwner() {
+        PropertySource other = BuildablePropertySource.builder().withName("other").build();
+        ReloadScheduler.Task task = ReloadScheduler.schedule(ps, () -> false, 1, 1, TimeUnit.HOURS);
+        ReloadScheduler.Task otherTask = ReloadScheduler.schedule(other, () -> false, 1, 1, TimeUnit.HOURS);
+        ReloadScheduler.cancel(ps);
+        assertThat(task.isCancelled()).isTrue();
+        assertThat(otherTask.isCancelled()).isFalse();
+        assertThat(ReloadScheduler.getTaskCount()).isEqualTo(1);
+        ReloadScheduler.shutdown();
+        assertThat(otherTask.isCancelled()).isTrue();
+        assertThat(ReloadScheduler.getTaskCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void execute_RunsOnce() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        ReloadScheduler.execute(latch::countDown, 10, TimeUnit.MILLISECONDS);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(end);
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spi.ChangeSupport;
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertyFilter;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.propertysource.BasePropertySource;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResolvedPropertiesView}.
+ */
+public class ResolvedPropertiesViewTest {
+
+    @After
+    public void cleanup() {
+        System.clearProperty(ResolvedValueCache.ENABLED_PROPERTY);
+    }
+
+    @Test
+    public void getProperties_SameInstanceIfUnchanged() {
+        ChangingPropertySource ps = new ChangingPropertySource(ChangeSupport.IMMUTABLE);
+        ps.setProperty("a", "1");
+        ResolvedPropertiesView view = new ResolvedPropertiesView(createContext(ps), new DefaultConfigValueEvaluator());
+        Map<String, String> properties = view.getProperties();
+        assertThat(properties).containsEntry("a", "1").hasSize(1);
+        assertThat(view.getProperties()).isSameAs(properties);
+        assertThat(ps.propertiesCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void getProperties_UpdatesChangedKeysOnly() {
+        ChangingPropertySource immutable = new ChangingPropertySource(ChangeSupport.IMMUTABLE);
+        immutable.setProperty("a", "1");
+        immutable.setProperty("b", "2");
+        ChangingPropertySource changing = new ChangingPropertySource(ChangeSupport.SUPPORTED);
+        changing.setProperty("c", "3");
+        ResolvedPropertiesView view = new ResolvedPropertiesView(createContext(immutable, changing),
+                new DefaultConfigValueEvaluator());
+        changing.addChangeListener(view::keysChanged);
+        Map<String, String> properties = view.getProperties();
+        changing.setProperty("a", "4");
+        changing.setProperty("c", "5");
+        Map<String, String> updated = view.getProperties();
+        assertThat(updated).isNotSameAs(properties);
+        assertThat(updated).containsEntry("a", "4").containsEntry("b", "2").containsEntry("c", "5").hasSize(3);
+        assertThat(immutable.propertiesCount.get()).isEqualTo(1);
+        changing.removeProperty("a");
+        assertThat(view.getProperties()).containsEntry("a", "1").hasSize(3);
+        changing.removeProperty("c");
+        assertThat(view.getProperties()).doesNotContainKey("c").hasSize(2);
+        assertThat(immutable.propertiesCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void getProperties_FiltersChangedKeys() {
+        ChangingPropertySource changing = new ChangingPropertySource(ChangeSupport.SUPPORTED);
+        changing.setProperty("a", "a");
+        changing.setProperty("b", "b");
+        changing.setProperty("c", "c");
+        PropertyFilter filter = (value, context) -> value.getKey().equals("hidden") ? null :
+                value.mutable().setValue(value.getValue().toUpperCase());
+        ConfigurationContext context = new DefaultConfigurationBuilder()
+                .addPropertySources(changing).addPropertyFilters(filter).build().getContext();
+        ResolvedPropertiesView view = new ResolvedPropertiesView(context, new DefaultConfigValueEvaluator());
+        changing.addChangeListener(view::keysChanged);
+        assertThat(view.getProperties()).containsEntry("a", "A").hasSize(3);
+        changing.setProperty("hidden", "x");
+        changing.setProperty("a", "d");
+        assertThat(view.getProperties()).containsEntry("a", "D").doesNotContainKey("hidden").hasSize(3);
+    }
+
+    @Test
+    public void getProperties_FiltersDependingOnOtherKeys() {
+        ChangingPropertySource changing = new ChangingPropertySource(ChangeSupport.SUPPORTED);
+        changing.setProperty("a", "a");
+        changing.setProperty("suffix", "1");
+        PropertyFilter filter = (value, context) -> value.getKey().equals("a") ?
+                value.mutable().setValue("a" + context.getConfigEntries().get("suffix").getValue()) :
+                value;
+        ConfigurationContext context = new DefaultConfigurationBuilder()
+                .addPropertySources(changing).addPropertyFilters(filter).build().getContext();
+        ResolvedPropertiesView view = new ResolvedPropertiesView(context, new DefaultConfigValueEvaluator());
+        changing.addChangeListener(view::keysChanged);
+        assertThat(view.getProperties()).containsEntry("a", "a1");
+        changing.setProperty("suffix", "2");
+        assertThat(view.getProperties()).containsEntry("a", "a2").containsEntry("suffix", "2");
+    }
+
+    @Test
+    public void overlayMap_SharesBaseUntilCompacted() {
+        Map<String, String> base = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            base.put("k" + i, "v" + i);
+        }
+        ResolvedPropertiesView.OverlayMap map = new ResolvedPropertiesView.OverlayMap(base,
+                Collections.emptyMap(), 0);
+        Map<String, String> updates = new HashMap<>();
+        updates.put("k1", "changed");
+        updates.put("k2", null);
+        updates.put("new", "added");
+        updates.put("missing", null);
+        ResolvedPropertiesView.OverlayMap updated = map.with(updates);
+        assertThat(map).isEqualTo(base);
+        Map<String, String> expected = new HashMap<>(base);
+        expected.put("k1", "changed");
+        expected.remove("k2");
+        expected.put("new", "added");
+        assertThat(updated).isEqualTo(expected).hasSize(100);
+        assertThat(updated.get("k2")).isNull();
+        assertThat(updated.containsKey("k2")).isFalse();
+        assertThat(updated.with(Collections.singletonMap("k1", "changed"))).isSameAs(updated);
+        // reverting a change
+        assertThat(updated.with(Collections.singletonMap("k2", "v2"))).containsEntry("k2", "v2").hasSize(101);
+        for (int i = 0; i < 50; i++) {
+            updated = updated.with(Collections.singletonMap("k" + i, null));
+            expected.remove("k" + i);
+        }
+        assertThat(updated).isEqualTo(expected).hasSize(expected.size());
+    }
+
+    @Test
+    public void getProperties_CustomEvaluatorReevaluatesAll() {
+        ChangingPropertySource immutable = new ChangingPropertySource(ChangeSupport.IMMUTABLE);
+        immutable.setProperty("a", "1");
+        ChangingPropertySource changing = new ChangingPropertySource(ChangeSupport.SUPPORTED);
+        ResolvedPropertiesView view = new ResolvedPropertiesView(createContext(immutable, changing),
+                new DefaultConfigValueEvaluator() {});
+        changing.addChangeListener(view::keysChanged);
+        view.getProperties();
+        changing.setProperty("a", "2");
+        assertThat(view.getProperties()).containsEntry("a", "2");
+        assertThat(immutable.propertiesCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void configuration_ReturnsImmutableView() {
+        System.setProperty(ResolvedValueCache.ENABLED_PROPERTY, "true");
+        ChangingPropertySource changing = new ChangingPropertySource(ChangeSupport.SUPPORTED);
+        changing.setProperty("a", "1");
+        Configuration config = new DefaultConfigurationBuilder().addPropertySources(changing).build();
+        Map<String, String> properties = config.getProperties();
+        assertThat(config.getProperties()).isSameAs(properties).containsEntry("a", "1");
+        changing.setProperty("a", "2");
+        assertThat(config.getProperties()).containsEntry("a", "2");
+        assertThat(config.get("a")).isEqualTo("2");
+        try {
+            config.getProperties().put("b", "2");
+            throw new AssertionError("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void configuration_NotCachingUnlessEnabled() {
+        ChangingPropertySource changing = new ChangingPropertySource(ChangeSupport.SUPPORTED);
+        changing.setProperty("a", "1");
+        Configuration config = new DefaultConfigurationBuilder().addPropertySources(changing).build();
+        assertThat(config.getProperties()).isNotSameAs(config.getProperties());
+    }
+
+    private ConfigurationContext createContext(PropertySource... propertySources) {
+        return new DefaultConfigurationBuilder().addPropertySources(propertySources).build().getContext();
+    }
+
+    /**
+     * Property source, which counts the calls to {@link #getProperties()}.
+     */
+    private static final class ChangingPropertySource extends BasePropertySource {
+
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        private final ChangeSupport changeSupport;
+        private final PropertySourceChangeSupport properties;
+        private final Map<String, String> values = new HashMap<>();
+        private final AtomicInteger propertiesCount = new AtomicInteger();
+
+        ChangingPropertySource(ChangeSupport changeSupport) {
+            super("changing-" + COUNTER.incrementAndGet());
+            this.changeSupport = changeSupport;
+            this.properties = new PropertySourceChangeSupport(ChangeSupport.SUPPORTED, this);
+        }
+
+        void setProperty(String key, String value) {
+            values.put(key, value);
+            properties.load(PropertyValue.mapProperties(values, getName()));
+        }
+
+        void removeProperty(String key) {
+            values.remove(key);
+            properties.load(PropertyValue.mapProperties(values, getName()));
+        }
+
+        @Override
+        public Map<String, PropertyValue> getProperties() {
+            propertiesCount.incrementAndGet();
+            return Collections.unmodifiableMap(properties.getProperties());
+        }
+
+        @Override
+        public ChangeSupport getChangeSupport() {
+            return changeSupport;
+        }
+
+        @Override
+        public String getVersion() {
+            return properties.getVersion();
+        }
+
+        @Override
+        public void addChangeListener(BiConsumer<Set<String>, PropertySource> l) {
+            properties.addChangeListener(l);
+        }
+
+        @Override
+        public void removeChangeListener(BiConsumer<Set<String>, PropertySource> l) {
+            properties.removeChangeListener(l);
+        }
+    }
+}
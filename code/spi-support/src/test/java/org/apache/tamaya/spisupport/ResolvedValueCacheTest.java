@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spi.ChangeSupport;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.propertysource.BasePropertySource;
+import org.apache.tamaya.spisupport.propertysource.SystemPropertySource;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResolvedValueCache}.
+ */
+public class ResolvedValueCacheTest {
+
+    @After
+    public void cleanup() {
+        System.clearProperty(ResolvedValueCache.ENABLED_PROPERTY);
+        System.clearProperty(SourceVersions.REFRESH_PROPERTY);
+        System.clearProperty("ResolvedValueCacheTest.key");
+    }
+
+    @Test
+    public void of_DisabledByDefault() {
+        DefaultConfigurationContext context = createContext(new ChangingPropertySource());
+        assertThat(ResolvedValueCache.of(context)).isNull();
+    }
+
+    @Test
+    public void of_Enabled() {
+        System.setProperty(ResolvedValueCache.ENABLED_PROPERTY, "true");
+        DefaultConfigurationContext context = createContext(new ChangingPropertySource());
+        assertThat(ResolvedValueCache.of(context)).isNotNull();
+    }
+
+    @Test
+    public void of_NotCacheableWithUnsupportedChangeSupport() {
+        System.setProperty(ResolvedValueCache.ENABLED_PROPERTY, "true");
+        DefaultConfigurationContext context = createContext(new ChangingPropertySource(), new MockedPropertySource());
+        assertThat(ResolvedValueCache.isCacheable(context)).isFalse();
+        assertThat(ResolvedValueCache.of(context)).isNull();
+    }
+
+    @Test
+    public void getValue_MissAndHit() {
+        ResolvedValueCache cache = new ResolvedValueCache(createContext(new ChangingPropertySource()));
+        assertThat(cache.getValue("a")).isSameAs(ResolvedValueCache.MISS);
+        cache.putValue("a", "b", cache.getGeneration());
+        assertThat(cache.getValue("a")).isEqualTo("b");
+        cache.putValue("n", null, cache.getGeneration());
+        assertThat(cache.getValue("n")).isNull();
+        assertThat(cache.getValues("a")).isSameAs(ResolvedValueCache.MISS);
+    }
+
+    @Test
+    public void putValue_StaleGenerationIsIgnored() {
+        ResolvedValueCache cache = new ResolvedValueCache(createContext(new ChangingPropertySource()));
+        long generation = cache.getGeneration();
+        cache.invalidate();
+        cache.putValue("a", "b", generation);
+        assertThat(cache.getValue("a")).isSameAs(ResolvedValueCache.MISS);
+    }
+
+    @Test
+    public void invalidatedByChangeListener() {
+        ChangingPropertySource ps = new ChangingPropertySource();
+        ResolvedValueCache cache = new ResolvedValueCache(createContext(ps));
+        cache.putValue("a", "b", cache.getGeneration());
+        ps.setProperty("a", "c");
+        assertThat(cache.getValue("a")).isSameAs(ResolvedValueCache.MISS);
+    }
+
+    @Test
+    public void invalidatedByVersionChange() {
+        ChangingPropertySource ps = new ChangingPropertySource();
+        ResolvedValueCache cache = new ResolvedValueCache(createContext(ps));
+        ps.setProperty("a", "c");
+        // Not reported by listeners, detected with the next miss
+        ps.listeners = false;
+        ps.setProperty("a", "d");
+        assertThat(cache.getValue("b")).isSameAs(ResolvedValueCache.MISS);
+        long generation = cache.getGeneration();
+        assertThat(cache.getValue("b")).isSameAs(ResolvedValueCache.MISS);
+        assertThat(cache.getGeneration()).isEqualTo(generation);
+    }
+
+    @Test
+    public void hitChecksForUnreportedChanges() {
+        System.setProperty(SourceVersions.REFRESH_PROPERTY, "0");
+        ChangingPropertySource ps = new ChangingPropertySource();
+        ResolvedValueCache cache = new ResolvedValueCache(createContext(ps));
+        ps.listeners = false;
+        ps.setProperty("a", "c");
+        // detects the first change
+        assertThat(cache.getValue("b")).isSameAs(ResolvedValueCache.MISS);
+        cache.putValue("b", "b", cache.getGeneration());
+        assertThat(cache.getValue("b")).isEqualTo("b");
+        ps.setProperty("a", "d");
+        assertThat(cache.getValue("b")).isSameAs(ResolvedValueCache.MISS);
+    }
+
+    @Test
+    public void hitNotCheckingVersionsWithinRefreshInterval() {
+        ChangingPropertySource ps = new ChangingPropertySource();
+        ResolvedValueCache cache = new ResolvedValueCache(createContext(ps));
+        cache.putValue("a", "b", cache.getGeneration());
+        ps.versionCount.set(0);
+        for (int i = 0; i < 100; i++) {
+            assertThat(cache.getValue("a")).isEqualTo("b");
+        }
+        assertThat(ps.versionCount.get()).isZero();
+    }
+
+    @Test
+    public void hitNotCheckingIfRefreshDisabled() {
+        System.setProperty(SourceVersions.REFRESH_PROPERTY, "-1");
+        ChangingPropertySource ps = new ChangingPropertySource();
+        ResolvedValueCache cache = new ResolvedValueCache(createContext(ps));
+        ps.listeners = false;
+        ps.setProperty("a", "c");
+        cache.putValue("b", "b", cache.getGeneration());
+        ps.setProperty("a", "d");
+        assertThat(cache.getValue("b")).isEqualTo("b");
+        assertThat(cache.getValue("a")).isSameAs(ResolvedValueCache.MISS);
+    }
+
+    @Test
+    public void configuration_DetectsSystemPropertyChanges() {
+        System.setProperty(ResolvedValueCache.ENABLED_PROPERTY, "true");
+        System.setProperty(SourceVersions.REFRESH_PROPERTY, "0");
+        System.setProperty("ResolvedValueCacheTest.key", "a");
+        Configuration config = new DefaultConfigurationBuilder()
+                .addPropertySources(new SystemPropertySource()).build();
+        assertThat(config.get("ResolvedValueCacheTest.key")).isEqualTo("a");
+        assertThat(config.getProperties()).containsEntry("ResolvedValueCacheTest.key", "a");
+        System.setProperty("ResolvedValueCacheTest.key", "b");
+        assertThat(config.get("ResolvedValueCacheTest.key")).isEqualTo("b");
+        assertThat(config.getProperties()).containsEntry("ResolvedValueCacheTest.key", "b");
+    }
+
+    @Test
+    public void configuration_CachesValues() {
+        System.setProperty(ResolvedValueCache.ENABLED_PROPERTY, "true");
+        ChangingPropertySource ps = new ChangingPropertySource();
+        ps.setProperty("a", "b");
+        Configuration config = new DefaultConfigurationBuilder().addPropertySources(ps).build();
+        ps.accessCount.set(0);
+        assertThat(config.get("a")).isEqualTo("b");
+        assertThat(config.get("a")).isEqualTo("b");
+        assertThat(config.get("missing")).isNull();
+        assertThat(config.get("missing")).isNull();
+        assertThat(ps.accessCount.get()).isEqualTo(2);
+        ps.setProperty("a", "5");
+        assertThat(config.get("a")).isEqualTo("5");
+        assertThat(config.get("a", Integer.class)).isEqualTo(5);
+        assertThat(config.get("a", Integer.class)).isEqualTo(5);
+    }
+
+    @Test
+    public void configuration_NotCachingUnlessEnabled() {
+        ChangingPropertySource ps = new ChangingPropertySource();
+        ps.setProperty("a", "b");
+        Configuration config = new DefaultConfigurationBuilder().addPropertySources(ps).build();
+        ps.accessCount.set(0);
+        assertThat(config.get("a")).isEqualTo("b");
+        assertThat(config.get("a")).isEqualTo("b");
+        assertThat(ps.accessCount.get()).isEqualTo(2);
+    }
+
+    private DefaultConfigurationContext createContext(PropertySource... propertySources) {
+        return (DefaultConfigurationContext) new DefaultConfigurationBuilder()
+                .addPropertySources(propertySources).build().getContext();
+    }
+
+    /**
+     * Property source, which supports changes and counts the property accesses.
+     */
+    private static final class ChangingPropertySource extends BasePropertySource {
+
+        private final PropertySourceChangeSupport changeSupport =
+                new PropertySourceChangeSupport(ChangeSupport.SUPPORTED, this);
+        private final Map<String, String> properties = new HashMap<>();
+        private final AtomicInteger accessCount = new AtomicInteger();
+        private final AtomicInteger versionCount = new AtomicInteger();
+        private boolean listeners = true;
+        private BiConsumer<Set<String>, PropertySource> listener;
+
+        ChangingPropertySource() {
+            super("changing");
+        }
+
+        void setProperty(String key, String value) {
+            properties.put(key, value);
+            if (!listeners) {
+                changeSupport.removeChangeListener(listener);
+            }
+            changeSupport.load(PropertyValue.mapProperties(properties, getName()));
+        }
+
+        @Override
+        public PropertyValue get(String key) {
+            accessCount.incrementAndGet();
+            return super.get(key);
+        }
+
+        @Override
+        public Map<String, PropertyValue> getProperties() {
+            return changeSupport.getProperties();
+        }
+
+        @Override
+        public ChangeSupport getChangeSupport() {
+            return ChangeSupport.SUPPORTED;
+        }
+
+        @Override
+        public String getVersion() {
+            versionCount.incrementAndGet();
+            return changeSupport.getVersion();
+        }
+
+        @Override
+        public void addChangeListener(BiConsumer<Set<String>, PropertySource> l) {
+            this.listener = l;
+            changeSupport.addChangeListener(l);
+        }
+
+        @Override
+        public void removeChangeListener(BiConsumer<Set<String>, PropertySource> l) {
+            changeSupport.removeChangeListener(l);
+        }
+    }
+}
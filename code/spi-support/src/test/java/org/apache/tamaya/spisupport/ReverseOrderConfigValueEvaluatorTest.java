@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport;
+
+import org.apache.tamaya.Configuration;
+import org.apache.tamaya.spi.ConfigurationContext;
+import org.apache.tamaya.spi.PropertySource;
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.propertysource.BuildablePropertySource;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ReverseOrderConfigValueEvaluator}.
+ */
+public class ReverseOrderConfigValueEvaluatorTest {
+
+    private final ReverseOrderConfigValueEvaluator evaluator = new ReverseOrderConfigValueEvaluator();
+
+    @Test
+    public void evaluateRawValue_SameAsDefault() {
+        Configuration config = Configuration.current();
+        DefaultConfigValueEvaluator defaultEvaluator = new DefaultConfigValueEvaluator();
+        for (String key : new String[]{"confkey1", "confkey2", "missing", "java.version"}) {
+            assertThat(evaluator.evaluateRawValue(key, config.getContext()))
+                    .isEqualTo(defaultEvaluator.evaluateRawValue(key, config.getContext()));
+        }
+    }
+
+    @Test
+    public void evaluateRawValue_StopsAtMostSignificantSource() {
+        PropertySource least = mock(PropertySource.class);
+        PropertySource most = BuildablePropertySource.builder().withName("most")
+                .withSimpleProperty("a", "most").build();
+        ConfigurationContext context = new DefaultConfigurationBuilder()
+                .addPropertySources(least, most).build().getContext();
+        PropertyValue value = evaluator.evaluateRawValue("a", context);
+        assertThat(value.getValue()).isEqualTo("most");
+        verify(least, never()).get("a");
+    }
+
+    @Test
+    public void evaluateRawValue_NullValueHidesLessSignificantValues() {
+        PropertySource least = BuildablePropertySource.builder().withName("least")
+                .withSimpleProperty("a", "least").build();
+        PropertySource most = mock(PropertySource.class);
+        when(most.get("a")).thenReturn(PropertyValue.createValue("a", null));
+        ConfigurationContext context = new DefaultConfigurationBuilder()
+                .addPropertySources(least, most).build().getContext();
+        assertThat(evaluator.evaluateRawValue("a", context)).isNull();
+        assertThat(new DefaultConfigValueEvaluator().evaluateRawValue("a", context)).isNull();
+        assertThat(evaluator.evaluateRawValue("b", context)).isNull();
+    }
+
+    @Test
+    public void evaluateRawValues() {
+        Configuration config = Configuration.current();
+        Map<String, PropertyValue> result = evaluator.evaluateRawValues(config.getContext());
+        assertThat(result.get("confkey1").getValue()).isEqualTo("javaconf-value1");
+    }
+
+    @Test
+    public void testToString() {
+        assertThat(evaluator.toString()).isNotNull();
+    }
+}
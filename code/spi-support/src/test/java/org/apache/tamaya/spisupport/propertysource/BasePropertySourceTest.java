@@ -18,6 +18,7 @@
  */
 package org.apache.tamaya.spisupport.propertysource;
 
+import org.apache.tamaya.spi.ChangeSupport;
 import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
 import org.apache.tamaya.spisupport.PropertySourceComparator;
@@ -78,6 +79,44 @@ public class BasePropertySourceTest {
         assertThat(new OverriddenInvalidOrdinalPropertySource().getOrdinal()).isEqualTo(1);
     }
 
+    @Test
+    public void getOrdinal_CachedForImmutableSources() {
+        ChangingOrdinalPropertySource ps = new ChangingOrdinalPropertySource(ChangeSupport.IMMUTABLE);
+        assertThat(ps.getOrdinal()).isEqualTo(100);
+        ps.ordinal = "200";
+        assertThat(ps.getOrdinal()).isEqualTo(100);
+        assertThat(ps.accessCount).isEqualTo(1);
+        ps.resetCachedOrdinal();
+        assertThat(ps.getOrdinal()).isEqualTo(200);
+        ps.ordinal = null;
+        ps.setDefaultOrdinal(5);
+        assertThat(ps.getOrdinal()).isEqualTo(5);
+        ps.setOrdinal(7);
+        assertThat(ps.getOrdinal()).isEqualTo(7);
+        assertThat(ps.accessCount).isEqualTo(3);
+    }
+
+    @Test
+    public void getOrdinal_CachedPerVersion() {
+        ChangingOrdinalPropertySource ps = new ChangingOrdinalPropertySource(ChangeSupport.SUPPORTED);
+        assertThat(ps.getOrdinal()).isEqualTo(100);
+        ps.ordinal = "200";
+        assertThat(ps.getOrdinal()).isEqualTo(100);
+        ps.version = "2";
+        assertThat(ps.getOrdinal()).isEqualTo(200);
+        assertThat(ps.getOrdinal()).isEqualTo(200);
+        assertThat(ps.accessCount).isEqualTo(2);
+    }
+
+    @Test
+    public void getOrdinal_NotCachedIfChangesUnsupported() {
+        ChangingOrdinalPropertySource ps = new ChangingOrdinalPropertySource(ChangeSupport.UNSUPPORTED);
+        assertThat(ps.getOrdinal()).isEqualTo(100);
+        ps.ordinal = "200";
+        assertThat(ps.getOrdinal()).isEqualTo(200);
+        assertThat(ps.accessCount).isEqualTo(2);
+    }
+
     @Test
     public void testGet() {
         assertThat(new OverriddenOrdinalPropertySource().getOrdinal()).isEqualTo(1000);
@@ -150,4 +189,44 @@ public class BasePropertySourceTest {
         }
     }
 
+    private static class ChangingOrdinalPropertySource extends BasePropertySource {
+
+        private final ChangeSupport changeSupport;
+        private String ordinal = "100";
+        private String version = "1";
+        private int accessCount;
+
+        private ChangingOrdinalPropertySource(ChangeSupport changeSupport) {
+            super("changingOrdinal");
+            this.changeSupport = changeSupport;
+        }
+
+        @Override
+        public PropertyValue get(String key) {
+            if (PropertySource.TAMAYA_ORDINAL.equals(key)) {
+                accessCount++;
+            }
+            return super.get(key);
+        }
+
+        @Override
+        public Map<String, PropertyValue> getProperties() {
+            if (ordinal == null) {
+                return Collections.emptyMap();
+            }
+            return Collections.singletonMap(PropertySource.TAMAYA_ORDINAL,
+                    PropertyValue.createValue(PropertySource.TAMAYA_ORDINAL, ordinal));
+        }
+
+        @Override
+        public ChangeSupport getChangeSupport() {
+            return changeSupport;
+        }
+
+        @Override
+        public String getVersion() {
+            return version;
+        }
+    }
+
 }
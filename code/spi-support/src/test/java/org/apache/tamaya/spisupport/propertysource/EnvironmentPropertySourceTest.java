@@ -117,6 +117,30 @@ public class EnvironmentPropertySourceTest {
         assertThat(localEnvironmentPropertySource.get("somekey").getValue()).isEqualTo("somekey.createValue");
     }
 
+    @Test
+    public void testGetCachesLookups() throws Exception {
+        EnvironmentPropertySource localEnvironmentPropertySource = new EnvironmentPropertySource();
+        CountingSystemPropertiesProvider provider = new CountingSystemPropertiesProvider();
+        localEnvironmentPropertySource.setPropertiesProvider(provider);
+        assertThat(localEnvironmentPropertySource.get("com.acme.size").getValue()).isEqualTo("COM_ACME_SIZE.createValue");
+        assertThat(localEnvironmentPropertySource.get("com.acme.size"))
+                .isSameAs(localEnvironmentPropertySource.get("com.acme.size"));
+        assertThat(localEnvironmentPropertySource.get("missing")).isNull();
+        assertThat(localEnvironmentPropertySource.get("missing")).isNull();
+        assertThat(provider.count).isEqualTo(6);
+        localEnvironmentPropertySource.setPropertiesProvider(new MockedSystemPropertiesProvider());
+        assertThat(localEnvironmentPropertySource.get("missing").getValue()).isEqualTo("missing.createValue");
+    }
+
+    @Test
+    public void testReplaceNonWordCharacters() throws Exception {
+        for (String key : new String[]{"", "a", "com.ACME.size", "a-b_c d", "_.", "x\uD83D\uDE00y", "\u00e4\u00df1"}) {
+            assertThat(EnvironmentPropertySource.replaceNonWordCharacters(key)).isEqualTo(key.replaceAll("\\W", "_"));
+        }
+        String key = "com_acme";
+        assertThat(EnvironmentPropertySource.replaceNonWordCharacters(key)).isSameAs(key);
+    }
+
     @Test
     public void testGetProperties() throws Exception {
         Map<String, PropertyValue> props = envPropertySource.getProperties();
@@ -145,6 +169,16 @@ public class EnvironmentPropertySourceTest {
         assertThat(envPropertySource.isScannable()).isTrue();
     }
 
+    private class CountingSystemPropertiesProvider extends EnvironmentPropertySource.SystemPropertiesProvider {
+        private int count;
+
+        @Override
+        String getenv(String key) {
+            count++;
+            return "COM_ACME_SIZE".equals(key) ? key + ".createValue" : null;
+        }
+    }
+
     private class MockedSystemPropertiesProvider extends EnvironmentPropertySource.SystemPropertiesProvider {
         @Override
         String getenv(String key) {
@@ -21,9 +21,13 @@ package org.apache.tamaya.spisupport.propertysource;
 import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Map;
+
+import org.apache.tamaya.spi.PropertyValue;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JavaConfigurationProviderTest {
 
@@ -45,6 +49,20 @@ public class JavaConfigurationProviderTest {
 
     }
     
+    @Test
+    public void getProperties_MergedOnce() {
+        JavaConfigurationPropertySource propertySource = new JavaConfigurationPropertySource();
+        assertThat(propertySource.getProperties()).isEmpty();
+        propertySource.init(getClass().getClassLoader());
+        Map<String, PropertyValue> properties = propertySource.getProperties();
+        assertThat(propertySource.getProperties()).isSameAs(properties);
+        assertThatThrownBy(() -> properties.put("a", PropertyValue.createValue("a", "b")))
+                .isInstanceOf(UnsupportedOperationException.class);
+        propertySource.init(getClass().getClassLoader());
+        assertThat(propertySource.getProperties()).isEqualTo(properties);
+        assertThat(propertySource.toString()).contains("resources=2");
+    }
+
     @Test
     public void testConstructionPropertiesAndDisabledBehavior() throws IOException {
         JavaConfigurationPropertySource localJavaConfigurationPropertySource = new JavaConfigurationPropertySource();
@@ -18,6 +18,7 @@
  */
 package org.apache.tamaya.spisupport.propertysource;
 
+import org.apache.tamaya.spi.PropertyValue;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -72,4 +73,15 @@ public class MapPropertySourceTest {
         assertThat(propertySource.get("pre-a")).isNotNull();
         assertThat(propertySource.get("pre-b")).isNotNull();
     }
+
+    @Test
+    public void valuesShareMetaData() {
+        MapPropertySource propertySource = new MapPropertySource("UT", sourceMap);
+        PropertyValue a = propertySource.get("a");
+        PropertyValue b = propertySource.get("b");
+        assertThat(a.getMeta()).containsEntry("source", "UT").containsKey("timestamp");
+        assertThat(b.getMeta()).isEqualTo(a.getMeta());
+        a.setMeta("x", "y");
+        assertThat(b.getMeta()).doesNotContainKey("x");
+    }
 }
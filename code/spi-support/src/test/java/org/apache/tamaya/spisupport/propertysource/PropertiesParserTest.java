@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tamaya.spisupport.propertysource;
+
+import org.apache.tamaya.spi.PropertyValue;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertiesParser}, comparing the results with {@link Properties#load(java.io.InputStream)}.
+ */
+public class PropertiesParserTest {
+
+    private static final String[] INPUTS = {
+            "",
+            "a=b",
+            "a = b\nc:d\ne f\ng\th\fi",
+            "  a  =  b  \n\n\n   \n c  ",
+            "# comment\n! comment\n  # indented comment\na=b # no comment",
+            "a=b\\\n   c\\\r\n\t d\\\r   e",
+            "a=b\\\\\nc=d\\\\\\\nx",
+            "# comment \\\na=b",
+            "a=\\u0041\\u00e4\\t\\n\\r\\f\\x\\=\\:",
+            "key\\ with\\ spaces=value\\ \nkey\\=eq=1\nkey\\:colon:2",
+            "a==b\nc::d\ne =:f\ng\t= h",
+            "a=1\ra=2\r\nb=3\n\rc=4",
+            "a=b\\",
+            "=empty key\n:other\n  =  ",
+            "a\\\n# not a comment=x",
+            "äöü=ß§\n",
+            "a=b\\\n",
+            "   \\\n   a=b",
+    };
+
+    @Test
+    public void parse_SameAsProperties() throws IOException {
+        for (String input : INPUTS) {
+            Map<String, String> expected = load(input);
+            assertThat(values(PropertiesParser.parse(buffer(input), "test"))).as(input).isEqualTo(expected);
+            assertThat(values(PropertiesParser.parse(new ByteChannel(bytes(input)), "test"))).as(input)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void parse_LongLines() throws IOException {
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            b.append("key").append(i).append('=');
+            for (int j = 0; j < i % 50; j++) {
+                b.append("value\\\n  ");
+            }
+            b.append(i).append('\n');
+        }
+        String input = b.toString();
+        assertThat(values(PropertiesParser.parse(new ByteChannel(bytes(input)), "test")))
+                .isEqualTo(load(input)).hasSize(2000);
+    }
+
+    @Test
+    public void parse_AddsSourceAndInternsKeys() {
+        Map<String, PropertyValue> result = PropertiesParser.parse(buffer("a=b"), "test");
+        PropertyValue value = result.get("a");
+        assertThat(value.getMeta()).containsEntry("source", "test");
+        assertThat(value.getKey()).isSameAs("a");
+        assertThat(PropertiesParser.parse(buffer("a=b"), null).get("a").getMeta()).isEmpty();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_MalformedUnicode() {
+        PropertiesParser.parse(buffer("a=\\u00zz"), "test");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_TruncatedUnicode() {
+        PropertiesParser.parse(buffer("a=\\u00"), "test");
+    }
+
+    @Test
+    public void parse_File() throws IOException {
+        Path file = Files.createTempFile("tamaya", ".properties");
+        try {
+            StringBuilder b = new StringBuilder();
+            int i = 0;
+            while (b.length() < (1 << 20) + 100) {
+                b.append("key").append(i).append(" = value").append(i++).append("\\\n  continued\n");
+            }
+            Files.write(file, bytes(b.toString()));
+            URL url = file.toUri().toURL();
+            Map<String, PropertyValue> result = PropertiesParser.parse(url, url.toString());
+            assertThat(values(result)).isEqualTo(load(b.toString())).hasSize(i);
+            assertThat(result.get("key0").getMeta()).containsEntry("source", url.toString());
+            Files.write(file, bytes("a=b"));
+            assertThat(values(PropertiesParser.parse(url, "test"))).containsEntry("a", "b").hasSize(1);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static Map<String, String> load(String input) throws IOException {
+        Properties props = new Properties();
+        props.load(new ByteArrayInputStream(bytes(input)));
+        return MapPropertySource.getMap(props);
+    }
+
+    private static Map<String, String> values(Map<String, PropertyValue> properties) {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, PropertyValue> en : properties.entrySet()) {
+            assertThat(en.getValue().getKey()).isEqualTo(en.getKey());
+            result.put(en.getKey(), en.getValue().getValue());
+        }
+        return result;
+    }
+
+    private static byte[] bytes(String input) {
+        return input.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static ByteBuffer buffer(String input) {
+        return ByteBuffer.wrap(bytes(input));
+    }
+
+    /**
+     * Channel returning one byte per read, for testing buffer boundaries.
+     */
+    private static final class ByteChannel implements ReadableByteChannel {
+        private final byte[] data;
+        private int pos;
+
+        ByteChannel(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            if (pos == data.length) {
+                return -1;
+            }
+            dst.put(data[pos++]);
+            return 1;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -19,6 +19,14 @@
 package org.apache.tamaya.spisupport.propertysource;
 
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.FileWatcher;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -51,5 +59,31 @@ public class PropertiesResourcePropertySourceTest {
         assertThat(source).isNotNull();
         assertThat(source.getProperties()).isEmpty();
     }
-    
+
+    @Test
+    public void testReloadsChangedFile() throws Exception {
+        Path directory = Files.createTempDirectory("tamaya-watch");
+        Path file = directory.resolve("reload.properties");
+        Files.write(file, "a=1".getBytes(StandardCharsets.ISO_8859_1));
+        PropertiesResourcePropertySource source = new PropertiesResourcePropertySource(file.toUri().toURL());
+        try {
+            assertThat(source.get("a").getValue()).isEqualTo("1");
+            CountDownLatch reloaded = new CountDownLatch(1);
+            source.addChangeListener((keys, ps) -> {
+                // the file may also have been read while being written, so wait for the final change
+                PropertyValue value = ps.get("b");
+                if (keys.contains("b") && value != null && "2".equals(value.getValue())) {
+                    reloaded.countDown();
+                }
+            });
+            Files.write(file, "a=1\nb=2".getBytes(StandardCharsets.ISO_8859_1));
+            assertThat(reloaded.await(1, TimeUnit.MINUTES)).isTrue();
+            assertThat(source.get("a").getValue()).isEqualTo("1");
+        } finally {
+            FileWatcher.cancel(source);
+            Files.delete(file);
+            Files.delete(directory);
+        }
+    }
+
 }
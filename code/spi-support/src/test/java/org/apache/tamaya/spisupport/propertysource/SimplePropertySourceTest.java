@@ -22,14 +22,23 @@ import java.io.File;
 import org.apache.tamaya.ConfigException;
 import org.apache.tamaya.spi.ChangeSupport;
 import org.apache.tamaya.spi.PropertyValue;
+import org.apache.tamaya.spisupport.FileWatcher;
 import org.apache.tamaya.spisupport.propertysource.SimplePropertySource.Builder;
 import org.junit.Test;
 
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
@@ -247,4 +256,42 @@ public class SimplePropertySourceTest {
         SimplePropertySource.newBuilder().withName(null);
     }
 
+    @Test
+    public void enableReload() throws Exception {
+        Path directory = Files.createTempDirectory("tamaya-watch");
+        Path file = directory.resolve("reload.properties");
+        Files.write(file, "a=1".getBytes(StandardCharsets.ISO_8859_1));
+        SimplePropertySource source = new SimplePropertySource(file.toFile());
+        try {
+            assertThat(source.getChangeSupport()).isEqualTo(ChangeSupport.IMMUTABLE);
+            assertThat(source.enableReload()).isTrue();
+            assertThat(source.getChangeSupport()).isEqualTo(ChangeSupport.SUPPORTED);
+            String version = source.getVersion();
+            List<Set<String>> changes = new CopyOnWriteArrayList<>();
+            CountDownLatch reloaded = new CountDownLatch(1);
+            source.addChangeListener((keys, ps) -> {
+                changes.add(keys);
+                // the file may also have been read while being written, so wait for the final change
+                PropertyValue value = ps.get("a");
+                if (value != null && "22".equals(value.getValue())) {
+                    reloaded.countDown();
+                }
+            });
+            Files.write(file, "a=22".getBytes(StandardCharsets.ISO_8859_1));
+            assertThat(reloaded.await(1, TimeUnit.MINUTES)).isTrue();
+            assertThat(changes.get(0)).containsExactly("a");
+            assertThat(source.getVersion()).isNotEqualTo(version);
+        } finally {
+            FileWatcher.cancel(source);
+            Files.delete(file);
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void enableReload_NotSupportedWithoutFile() {
+        SimplePropertySource source = new SimplePropertySource("test", new HashMap<>());
+        assertThat(source.enableReload()).isFalse();
+        assertThat(source.getChangeSupport()).isEqualTo(ChangeSupport.IMMUTABLE);
+    }
 }
@@ -25,8 +25,13 @@ import org.apache.tamaya.spi.PropertySource;
 import org.apache.tamaya.spi.PropertyValue;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class SystemPropertySourceTest {
@@ -140,6 +145,58 @@ public class SystemPropertySourceTest {
         System.clearProperty("test");
     }
 
+    @Test
+    public void testManualReload() throws Exception {
+        SystemPropertySource ps = new SystemPropertySource();
+        ps.setRefreshInterval(-1);
+        try {
+            System.setProperty("testManualReload", "myTestVal");
+            assertThat(ps.get("testManualReload")).isNull();
+            ps.reload();
+            assertThat(ps.get("testManualReload").getValue()).isEqualTo("myTestVal");
+        } finally {
+            System.clearProperty("testManualReload");
+        }
+    }
+
+    @Test
+    public void testRefreshInterval() throws Exception {
+        System.setProperty("tamaya.sysprops.refresh", "3600000");
+        SystemPropertySource ps = new SystemPropertySource();
+        System.clearProperty("tamaya.sysprops.refresh");
+        assertThat(ps.getRefreshInterval()).isEqualTo(3600000L);
+        try {
+            ps.get("testRefreshInterval");
+            System.setProperty("testRefreshInterval", "myTestVal");
+            assertThat(ps.get("testRefreshInterval")).isNull();
+            ps.setRefreshInterval(0);
+            assertThat(ps.get("testRefreshInterval").getValue()).isEqualTo("myTestVal");
+        } finally {
+            System.clearProperty("testRefreshInterval");
+        }
+    }
+
+    @Test
+    public void testChangeListener() throws Exception {
+        SystemPropertySource ps = new SystemPropertySource();
+        List<Set<String>> changes = new ArrayList<>();
+        BiConsumer<Set<String>, PropertySource> listener = (keys, source) -> changes.add(keys);
+        ps.addChangeListener(listener);
+        try {
+            System.setProperty("testChangeListener", "myTestVal");
+            ps.reload();
+            assertThat(changes).hasSize(1);
+            assertThat(changes.get(0)).containsExactly("testChangeListener");
+            ps.removeChangeListener(listener);
+            System.setProperty("testChangeListener", "myTestVal2");
+            ps.reload();
+            assertThat(changes).hasSize(1);
+        } finally {
+            System.clearProperty("testChangeListener");
+            ps.removeAllChangeListeners();
+        }
+    }
+
     private void checkWithSystemProperties(Map<String, PropertyValue> toCheck) {
         Properties systemEntries = System.getProperties();
         int num = 0;